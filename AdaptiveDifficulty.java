@@ -0,0 +1,201 @@
+package services;
+
+import java.util.Random;
+
+/**
+ * AdaptiveDifficulty - Lernstandsmodell eines Spielers
+ * 
+ * Für jede Kombination aus Rechenart und Zahlenbereich (Zelle) werden
+ * Antwortzeit und Fehlerquote als EWMA sowie ein Histogramm der
+ * Antwortzeiten mit festen Buckets geführt. Der Speicher ist konstant,
+ * alles liegt in primitiven Arrays; record() ist O(1) und allokiert nicht.
+ * 
+ * pickCell() wählt die nächste Aufgabe gewichtet nach Schwäche: hohe
+ * Fehlerquote, langsame Antworten und noch kaum geübte Zellen werden
+ * häufiger gezogen. Der Zahlenbereich richtet sich nach dem Level; ist
+ * ein Bereich sicher beherrscht, wird zusätzlich der nächsthöhere frei.
+ * 
+ * Nicht thread-sicher - eine Instanz pro Spieler, Zugriffe von außen
+ * synchronisieren.
+ */
+public final class AdaptiveDifficulty {
+    public static final String[] OPERATORS = {"+", "-", "×", "÷"};
+    public static final String[] TASK_TYPES = {"Addition", "Subtraktion", "Multiplikation", "Division"};
+    
+    // Obergrenzen der Zahlenbereiche (größter Operand)
+    private static final int[] RANGE_LIMITS = {5, 10, 20, 50};
+    public static final int RANGES = RANGE_LIMITS.length;
+    public static final int CELLS = OPERATORS.length * RANGES;
+    // Größte Faktoren wie in TaskService: × bis 12, ÷ bis 10
+    private static final int[] OPERAND_CAPS = {Integer.MAX_VALUE, Integer.MAX_VALUE, 12, 10};
+    
+    private static final double ALPHA = 0.2;
+    private static final int MIN_SAMPLES = 5;
+    private static final double TARGET_LATENCY_MILLIS = 4000;
+    private static final double MASTERED_ERROR_RATE = 0.15;
+    // Histogramm: Bucket 0 < 250 ms, Bucket k < 250 ms * 2^k, letzter offen
+    private static final int LATENCY_BUCKETS = 10;
+    private static final long LATENCY_BASE_MILLIS = 250;
+    
+    private final double[] latencyEwma = new double[CELLS];
+    private final double[] errorEwma = new double[CELLS];
+    private final int[] samples = new int[CELLS];
+    private final int[] histogram = new int[CELLS * LATENCY_BUCKETS];
+    private final double[] weights = new double[CELLS];
+    
+    /**
+     * Verbucht eine Antwort
+     * @param operator Index in OPERATORS
+     * @param range Index des Zahlenbereichs (rangeIndex)
+     */
+    public void record(int operator, int range, long latencyMillis, boolean correct) {
+        int cell = operator * RANGES + range;
+        double error = correct ? 0 : 1;
+        if (samples[cell] == 0) {
+            latencyEwma[cell] = latencyMillis;
+            errorEwma[cell] = error;
+        } else {
+            latencyEwma[cell] += ALPHA * (latencyMillis - latencyEwma[cell]);
+            errorEwma[cell] += ALPHA * (error - errorEwma[cell]);
+        }
+        if (samples[cell] < Integer.MAX_VALUE) {
+            samples[cell]++;
+        }
+        histogram[cell * LATENCY_BUCKETS + latencyBucket(latencyMillis)]++;
+    }
+    
+    /**
+     * Zieht die nächste Zelle, gewichtet nach Schwäche
+     * @param maxNum größter Operand, den das Level erlaubt
+     * @return Zelle; Rechenart = cell / RANGES, Bereich = cell % RANGES
+     */
+    public int pickCell(Random random, int maxNum) {
+        double total = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            double weight = isAllowed(cell, maxNum) ? weakness(cell) : 0;
+            weights[cell] = weight * weight;
+            total += weights[cell];
+        }
+        double r = random.nextDouble() * total;
+        for (int cell = 0; cell < CELLS; cell++) {
+            r -= weights[cell];
+            if (r < 0) {
+                return cell;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Schwäche einer Zelle: kaum geübt zählt als schwach, sonst
+     * Fehlerquote plus Antwortzeit relativ zum Ziel
+     */
+    double weakness(int cell) {
+        if (samples[cell] < MIN_SAMPLES) {
+            return 1.0 + 0.2 * (MIN_SAMPLES - samples[cell]);
+        }
+        return 0.1 + 2 * errorEwma[cell] + Math.min(2, latencyEwma[cell] / TARGET_LATENCY_MILLIS);
+    }
+    
+    boolean isMastered(int cell) {
+        return samples[cell] >= MIN_SAMPLES
+            && errorEwma[cell] < MASTERED_ERROR_RATE
+            && latencyEwma[cell] < TARGET_LATENCY_MILLIS;
+    }
+    
+    private boolean isAllowed(int cell, int maxNum) {
+        int operator = cell / RANGES;
+        int range = cell % RANGES;
+        int lower = minOperand(range);
+        if (lower > OPERAND_CAPS[operator]) {
+            return false;
+        }
+        return lower <= maxNum || range > 0 && isMastered(cell - 1);
+    }
+    
+    private static int latencyBucket(long latencyMillis) {
+        long steps = latencyMillis / LATENCY_BASE_MILLIS;
+        if (steps == 0) {
+            return 0;
+        }
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(steps));
+    }
+    
+    public static int operatorIndex(String operator) {
+        for (int i = 0; i < OPERATORS.length; i++) {
+            if (OPERATORS[i].equals(operator)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @return Index des Zahlenbereichs, in den der größte Operand fällt
+     */
+    public static int rangeIndex(int operand) {
+        for (int i = 0; i < RANGES - 1; i++) {
+            if (operand <= RANGE_LIMITS[i]) {
+                return i;
+            }
+        }
+        return RANGES - 1;
+    }
+    
+    public static int minOperand(int range) {
+        return range == 0 ? 1 : RANGE_LIMITS[range - 1] + 1;
+    }
+    
+    public static int maxOperand(int range) {
+        return RANGE_LIMITS[range];
+    }
+    
+    public double getLatencyEwma(int operator, int range) {
+        return latencyEwma[operator * RANGES + range];
+    }
+    
+    public double getErrorRate(int operator, int range) {
+        return errorEwma[operator * RANGES + range];
+    }
+    
+    public int getSamples(int operator, int range) {
+        return samples[operator * RANGES + range];
+    }
+    
+    /**
+     * @return Obergrenze des Histogramm-Buckets, in dem das Perzentil liegt
+     *         (Long.MAX_VALUE für den offenen letzten Bucket, 0 ohne Daten)
+     */
+    public long getLatencyPercentile(int operator, int range, double percentile) {
+        int cell = operator * RANGES + range;
+        long count = samples[cell];
+        if (count == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int b = 0; b < LATENCY_BUCKETS; b++) {
+            seen += histogram[cell * LATENCY_BUCKETS + b];
+            if (seen >= threshold) {
+                return b == LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : LATENCY_BASE_MILLIS << b;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int op = 0; op < OPERATORS.length; op++) {
+            for (int range = 0; range < RANGES; range++) {
+                int cell = op * RANGES + range;
+                if (samples[cell] > 0) {
+                    sb.append(String.format("%s %d-%d: n=%d fehler=%.0f%% zeit=%.0fms p90<=%dms%n",
+                        OPERATORS[op], minOperand(range), maxOperand(range), samples[cell],
+                        errorEwma[cell] * 100, latencyEwma[cell], getLatencyPercentile(op, range, 90)));
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
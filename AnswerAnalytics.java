@@ -0,0 +1,321 @@
+package storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * AnswerAnalytics - Auswertungen über die Antwort-Historie eines AnswerLog
+ * 
+ * Abfragen laufen direkt auf den Segmentdateien, nichts wird dauerhaft in
+ * den Heap geladen:
+ * - Die Segmente werden per Fork-Join parallel gelesen, ein Blatt-Task
+ *   pro Segment; die Teilergebnisse (AnswerStats) werden addiert.
+ * - Ein Segment wird spaltenweise in primitive Arrays dekodiert
+ *   (Zeitstempel, Antwortzeit, Rechenart, richtig) - pro Worker-Thread
+ *   wiederverwendet, keine Objekte pro Antwort.
+ * - Zone Map: für abgeschlossene Segmente werden Anzahl und min/max der
+ *   Zeitstempel einmal ermittelt und neben dem Segment gespeichert
+ *   (answers-BASIS.zone). Segmente außerhalb des Zeitraums werden dann
+ *   gar nicht erst geöffnet, vollständig enthaltene ohne Zeitfilter
+ *   gezählt. Das letzte Segment wird noch beschrieben und immer gelesen.
+ * 
+ * Zeiträume sind halboffen [from, to) in ms seit Epoch.
+ * 
+ * Aufruf als Bericht: java storage.AnswerAnalytics [VERZEICHNIS] [--days=30]
+ */
+public final class AnswerAnalytics {
+    private static final int RECORD_SIZE = AnswerRecord.SIZE + AppendLog.CRC_SIZE;
+    private static final int ZONE_SIZE = 4 + 8 + 8;
+    private static final ThreadLocal<Columns> COLUMNS = ThreadLocal.withInitial(Columns::new);
+    
+    private final Path directory;
+    private final ForkJoinPool pool;
+    private final Map<Path, Zone> zones = new ConcurrentHashMap<>();
+    
+    public AnswerAnalytics(Path directory) {
+        this(directory, ForkJoinPool.commonPool());
+    }
+    
+    public AnswerAnalytics(Path directory, ForkJoinPool pool) {
+        this.directory = directory;
+        this.pool = pool;
+    }
+    
+    public AnswerStats query(long from, long to) {
+        return query(from, to, 0);
+    }
+    
+    /**
+     * @param bucketMillis Breite der Fortschrittskurve (z.B. ein Tag), 0 = ohne
+     * @throws IllegalArgumentException wenn die Kurve mehr als
+     *         AnswerStats.MAX_CURVE_BUCKETS Buckets hätte
+     */
+    public AnswerStats query(long from, long to, long bucketMillis) {
+        // Prüft den Zeitraum, bevor ein Segment gelesen wird
+        AnswerStats stats = new AnswerStats(from, to, bucketMillis);
+        List<Path> segments;
+        try {
+            segments = AppendLog.segments(directory, AnswerLog.PREFIX);
+        } catch (NoSuchFileException e) {
+            return stats;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (segments.isEmpty()) {
+            return stats;
+        }
+        return stats.add(pool.invoke(new ScanTask(segments, 0, segments.size(), from, to, bucketMillis)));
+    }
+    
+    /**
+     * Erfolgsquote in Prozent im Zeitraum, 0 ohne Antworten
+     */
+    public double getSuccessRate(long from, long to) {
+        return query(from, to).getSuccessRate();
+    }
+    
+    /**
+     * Teilt die Segmente bis auf eines pro Task
+     */
+    private final class ScanTask extends RecursiveTask<AnswerStats> {
+        private static final long serialVersionUID = 1L;
+        
+        private final transient List<Path> segments;
+        private final int start, end;
+        private final long from, to, bucketMillis;
+        
+        ScanTask(List<Path> segments, int start, int end, long from, long to, long bucketMillis) {
+            this.segments = segments;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+            this.bucketMillis = bucketMillis;
+        }
+        
+        @Override
+        protected AnswerStats compute() {
+            if (end - start == 1) {
+                AnswerStats stats = new AnswerStats(from, to, bucketMillis);
+                try {
+                    scan(segments.get(start), start < segments.size() - 1, stats);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return stats;
+            }
+            int middle = (start + end) >>> 1;
+            ScanTask left = new ScanTask(segments, start, middle, from, to, bucketMillis);
+            left.fork();
+            AnswerStats right = new ScanTask(segments, middle, end, from, to, bucketMillis).compute();
+            return left.join().add(right);
+        }
+    }
+    
+    /**
+     * Ein Segment: Zone Map prüfen, spaltenweise dekodieren, zählen
+     * @param sealed true für abgeschlossene Segmente (unveränderlich)
+     */
+    private void scan(Path segment, boolean sealed, AnswerStats stats) throws IOException {
+        long from = stats.getFrom();
+        long to = stats.getTo();
+        Zone zone = sealed ? zone(segment) : null;
+        if (zone != null && !zone.overlaps(from, to)) {
+            stats.segmentSkipped();
+            return;
+        }
+        
+        MappedByteBuffer buffer = mapReadOnly(segment);
+        int count;
+        if (zone != null) {
+            count = zone.count;
+        } else {
+            count = AppendLog.validRecords(buffer.duplicate(), AnswerRecord.SIZE, buffer.capacity() / RECORD_SIZE);
+        }
+        Columns columns = COLUMNS.get();
+        columns.decode(buffer, count);
+        stats.segmentScanned();
+        if (zone == null) {
+            zone = new Zone(count, columns.minTimestamp, columns.maxTimestamp);
+            if (sealed) {
+                zones.put(segment, zone);
+                writeZone(segment, zone);
+            }
+            if (!zone.overlaps(from, to)) {
+                return;
+            }
+        }
+        
+        stats.reserveCurve(zone.minTimestamp, zone.maxTimestamp);
+        long[] timestamps = columns.timestamps;
+        int[] latencies = columns.latencies;
+        byte[] operators = columns.operators;
+        boolean[] correct = columns.correct;
+        if (zone.minTimestamp >= from && zone.maxTimestamp < to) {
+            for (int i = 0; i < count; i++) {
+                stats.record(timestamps[i], operators[i], latencies[i], correct[i]);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                long timestamp = timestamps[i];
+                if (timestamp >= from && timestamp < to) {
+                    stats.record(timestamp, operators[i], latencies[i], correct[i]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Zone Map eines abgeschlossenen Segments aus Cache oder Datei, sonst null
+     */
+    private Zone zone(Path segment) {
+        Zone zone = zones.get(segment);
+        if (zone != null) {
+            return zone;
+        }
+        Path file = zonePath(segment);
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length != ZONE_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            zone = new Zone(buffer.getInt(0), buffer.getLong(4), buffer.getLong(12));
+            zones.put(segment, zone);
+            return zone;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("[AnswerAnalytics] Zone Map unlesbar: " + file.getFileName() + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+    
+    private static void writeZone(Path segment, Zone zone) {
+        ByteBuffer buffer = ByteBuffer.allocate(ZONE_SIZE);
+        buffer.putInt(0, zone.count).putLong(4, zone.minTimestamp).putLong(12, zone.maxTimestamp);
+        Path file = zonePath(segment);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Nur ein Cache - beim nächsten Mal wird neu gerechnet
+            System.err.println("[AnswerAnalytics] Zone Map nicht gespeichert: " + e.getMessage());
+        }
+    }
+    
+    private static Path zonePath(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.lastIndexOf('.')) + ".zone");
+    }
+    
+    private static MappedByteBuffer mapReadOnly(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+    
+    /**
+     * Anzahl und Zeitstempel-Spanne eines Segments
+     */
+    private static final class Zone {
+        final int count;
+        final long minTimestamp;
+        final long maxTimestamp;
+        
+        Zone(int count, long minTimestamp, long maxTimestamp) {
+            this.count = count;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+        }
+        
+        boolean overlaps(long from, long to) {
+            return count > 0 && maxTimestamp >= from && minTimestamp < to;
+        }
+    }
+    
+    /**
+     * Dekodierte Spalten eines Segments, je Worker-Thread wiederverwendet
+     */
+    private static final class Columns {
+        long[] timestamps = new long[0];
+        int[] latencies = new int[0];
+        byte[] operators = new byte[0];
+        boolean[] correct = new boolean[0];
+        long minTimestamp;
+        long maxTimestamp;
+        
+        void decode(ByteBuffer buffer, int count) {
+            if (timestamps.length < count) {
+                timestamps = new long[count];
+                latencies = new int[count];
+                operators = new byte[count];
+                correct = new boolean[count];
+            }
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0, offset = 0; i < count; i++, offset += RECORD_SIZE) {
+                long timestamp = buffer.getLong(offset + AnswerRecord.TIMESTAMP);
+                timestamps[i] = timestamp;
+                min = Math.min(min, timestamp);
+                max = Math.max(max, timestamp);
+            }
+            for (int i = 0, offset = 0; i < count; i++, offset += RECORD_SIZE) {
+                latencies[i] = buffer.getInt(offset + AnswerRecord.LATENCY);
+            }
+            for (int i = 0, offset = 0; i < count; i++, offset += RECORD_SIZE) {
+                operators[i] = (byte) AnswerStats.operatorIndex(buffer.getChar(offset + AnswerRecord.OPERATOR));
+            }
+            for (int i = 0, offset = 0; i < count; i++, offset += RECORD_SIZE) {
+                correct[i] = buffer.get(offset + AnswerRecord.CORRECT) != 0;
+            }
+            minTimestamp = min;
+            maxTimestamp = max;
+        }
+    }
+    
+    public static void main(String[] args) {
+        Path directory = Paths.get(System.getProperty("user.home"), ".retromath", "answers");
+        int days = 30;
+        for (String arg : args) {
+            if (arg.startsWith("--days=")) {
+                days = Integer.parseInt(arg.substring("--days=".length()));
+            } else {
+                directory = Paths.get(arg);
+            }
+        }
+        long dayMillis = Duration.ofDays(1).toMillis();
+        long to = LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long from = to - days * dayMillis;
+        
+        long start = System.nanoTime();
+        AnswerStats stats = new AnswerAnalytics(directory).query(from, to, dayMillis);
+        System.out.printf("%s: %d Antworten in %d Tagen, %.1f%% richtig, Antwortzeit p50=%dms p90=%dms%n",
+            directory, stats.getCount(), days, stats.getSuccessRate(),
+            stats.getLatencyPercentile(50), stats.getLatencyPercentile(90));
+        for (char operator : AnswerStats.OPERATORS) {
+            System.out.printf("  %c %8d Antworten %6.1f%% richtig  p50=%dms%n", operator,
+                stats.getCount(operator), stats.getSuccessRate(operator), stats.getLatencyPercentile(operator, 50));
+        }
+        for (int day = 0; day < stats.getCurveSize(); day++) {
+            if (stats.getCurveCount(day) > 0) {
+                System.out.printf("  %s %6d Antworten %6.1f%% richtig%n",
+                    Instant.ofEpochMilli(stats.getCurveStart(day)).atZone(ZoneId.systemDefault()).toLocalDate(),
+                    stats.getCurveCount(day), stats.getCurveSuccessRate(day));
+            }
+        }
+        System.out.printf("%d Segmente gelesen, %d übersprungen (%.1f ms)%n",
+            stats.getSegmentsScanned(), stats.getSegmentsSkipped(), (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,72 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * AnswerLog - Antwort-Historie des ScoreService als AppendLog
+ * 
+ * Jede Antwort wird ein AnswerRecord fester Größe; 16384 Datensätze
+ * (1 MB) pro Segment. Der letzte Datensatz enthält den vollständigen
+ * Spielstand, die Wiederherstellung liest also nur das Ende des Logs.
+ */
+public final class AnswerLog implements Closeable {
+    public static final int RECORDS_PER_SEGMENT = 16_384;
+    static final String PREFIX = "answers";
+    
+    private final Path directory;
+    private final AppendLog log;
+    private final ByteBuffer buffer = ByteBuffer.allocate(AnswerRecord.SIZE);
+    
+    private AnswerLog(Path directory, AppendLog log) {
+        this.directory = directory;
+        this.log = log;
+    }
+    
+    public static AnswerLog open(Path directory) throws IOException {
+        return new AnswerLog(directory, AppendLog.open(directory, PREFIX, AnswerRecord.SIZE, RECORDS_PER_SEGMENT));
+    }
+    
+    /**
+     * Hängt die Antwort an; kehrt ohne Warten auf die Platte zurück
+     * (Group Commit im Hintergrund)
+     * @return Sequenznummer
+     */
+    public synchronized long append(AnswerRecord record) throws IOException {
+        record.writeTo(buffer, 0);
+        buffer.clear();
+        return log.append(buffer);
+    }
+    
+    /**
+     * Füllt record mit der letzten Antwort vor dem Öffnen
+     * @return false bei leerem Log
+     */
+    public boolean recover(AnswerRecord record) {
+        ByteBuffer last = log.getRecoveredRecord();
+        if (last == null) {
+            return false;
+        }
+        record.readFrom(last, 0);
+        return true;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    public long getRecordCount() {
+        return log.getNextSequence();
+    }
+    
+    public void commit() {
+        log.commit();
+    }
+    
+    @Override
+    public void close() {
+        log.close();
+    }
+}
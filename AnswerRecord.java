@@ -0,0 +1,99 @@
+package storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * AnswerRecord - Eine Antwort samt Spielstand danach, fester Aufbau
+ * 
+ * Wiederverwendbar: der Schreiber füllt dieselbe Instanz für jede Antwort,
+ * damit der Antwort-Pfad nichts allokiert.
+ * 
+ * Aufbau (SIZE Bytes, big-endian):
+ *   0 timestamp (long)     8 latencyMillis    12 num1    16 num2
+ *  20 result              24 operator (char) 26 correct (byte)
+ *  28 score               32 level           36 streak  40 bestStreak
+ *  44 correctAnswers      48 wrongAnswers    52 reserviert (8 Bytes)
+ */
+public final class AnswerRecord {
+    public static final int SIZE = 60;
+    
+    static final int TIMESTAMP = 0;
+    static final int LATENCY = 8;
+    static final int NUM1 = 12;
+    static final int NUM2 = 16;
+    static final int RESULT = 20;
+    static final int OPERATOR = 24;
+    static final int CORRECT = 26;
+    static final int SCORE = 28;
+    static final int LEVEL = 32;
+    static final int STREAK = 36;
+    static final int BEST_STREAK = 40;
+    static final int CORRECT_ANSWERS = 44;
+    static final int WRONG_ANSWERS = 48;
+    
+    /** Zeitpunkt der Antwort (GameEvent.getTimestamp), ms seit Epoch */
+    public long timestamp;
+    /** Zeit seit Anzeige der Aufgabe */
+    public int latencyMillis;
+    public int num1;
+    public int num2;
+    public int result;
+    /** '+', '-', '×' oder '÷' */
+    public char operator;
+    public boolean correct;
+    
+    // Spielstand nach der Antwort (für die Wiederherstellung)
+    public int score;
+    public int level;
+    public int streak;
+    public int bestStreak;
+    public int correctAnswers;
+    public int wrongAnswers;
+    
+    /**
+     * Schreibt den Datensatz ab offset (absolut, position bleibt)
+     */
+    public void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset + TIMESTAMP, timestamp);
+        buffer.putInt(offset + LATENCY, latencyMillis);
+        buffer.putInt(offset + NUM1, num1);
+        buffer.putInt(offset + NUM2, num2);
+        buffer.putInt(offset + RESULT, result);
+        buffer.putChar(offset + OPERATOR, operator);
+        buffer.put(offset + CORRECT, (byte) (correct ? 1 : 0));
+        buffer.put(offset + CORRECT + 1, (byte) 0);
+        buffer.putInt(offset + SCORE, score);
+        buffer.putInt(offset + LEVEL, level);
+        buffer.putInt(offset + STREAK, streak);
+        buffer.putInt(offset + BEST_STREAK, bestStreak);
+        buffer.putInt(offset + CORRECT_ANSWERS, correctAnswers);
+        buffer.putInt(offset + WRONG_ANSWERS, wrongAnswers);
+        buffer.putLong(offset + WRONG_ANSWERS + 4, 0);
+    }
+    
+    /**
+     * Liest den Datensatz ab offset (absolut, position bleibt)
+     */
+    public AnswerRecord readFrom(ByteBuffer buffer, int offset) {
+        timestamp = buffer.getLong(offset + TIMESTAMP);
+        latencyMillis = buffer.getInt(offset + LATENCY);
+        num1 = buffer.getInt(offset + NUM1);
+        num2 = buffer.getInt(offset + NUM2);
+        result = buffer.getInt(offset + RESULT);
+        operator = buffer.getChar(offset + OPERATOR);
+        correct = buffer.get(offset + CORRECT) != 0;
+        score = buffer.getInt(offset + SCORE);
+        level = buffer.getInt(offset + LEVEL);
+        streak = buffer.getInt(offset + STREAK);
+        bestStreak = buffer.getInt(offset + BEST_STREAK);
+        correctAnswers = buffer.getInt(offset + CORRECT_ANSWERS);
+        wrongAnswers = buffer.getInt(offset + WRONG_ANSWERS);
+        return this;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d %d %c %d = %d %s (%d ms) score=%d level=%d",
+            timestamp, num1, operator, num2, result, correct ? "richtig" : "falsch", latencyMillis, score, level);
+    }
+}
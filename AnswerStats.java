@@ -0,0 +1,305 @@
+package storage;
+
+/**
+ * AnswerStats - Aggregat über einen Zeitraum der Antwort-Historie
+ * 
+ * Reine Zähler und Histogramme: Antworten und richtige Antworten je
+ * Rechenart, Antwortzeiten log-linear (16 Unter-Buckets pro Zweierpotenz,
+ * höchstens ~6% Fehler, bis ~17 min) und optional eine Fortschrittskurve
+ * in festen Zeit-Buckets. Teilergebnisse der Segmente werden per add()
+ * zusammengeführt - es entsteht nie ein Objekt pro Antwort.
+ * 
+ * Die Kurve hält nur das Fenster der Buckets, in denen tatsächlich
+ * Antworten liegen (reserveCurve), nicht den ganzen Zeitraum: ein
+ * Teilergebnis pro Segment kostet so wenige Buckets, auch wenn über
+ * Jahre in Tagen abgefragt wird. Mehr als MAX_CURVE_BUCKETS sind
+ * nicht erlaubt.
+ */
+public final class AnswerStats {
+    /** Rechenarten in Index-Reihenfolge; alles andere zählt als "sonstige" */
+    public static final char[] OPERATORS = {'+', '-', '×', '÷'};
+    private static final int OTHER = OPERATORS.length;
+    
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_BITS = 20;
+    private static final int MAX_VALUE = (1 << MAX_BITS) - 1;
+    private static final int BUCKETS = (MAX_BITS - SUB_BITS + 1) * SUB_COUNT;
+    
+    /** Obergrenze für die Anzahl der Buckets der Fortschrittskurve */
+    public static final int MAX_CURVE_BUCKETS = 1_000_000;
+    
+    private final long from;
+    private final long to;
+    private final long bucketMillis;
+    private final int curveBuckets;
+    
+    private final long[] answers = new long[OPERATORS.length + 1];
+    private final long[] correct = new long[OPERATORS.length + 1];
+    private final long[][] latency = new long[OPERATORS.length + 1][BUCKETS];
+    // Fenster der Kurve ab Bucket curveOffset
+    private int curveOffset;
+    private long[] curveAnswers = new long[0];
+    private long[] curveCorrect = new long[0];
+    private int segmentsScanned;
+    private int segmentsSkipped;
+    
+    /**
+     * @param bucketMillis Breite der Fortschritts-Buckets, 0 = keine Kurve
+     * @throws IllegalArgumentException bei negativer Breite oder mehr als
+     *         MAX_CURVE_BUCKETS Buckets
+     */
+    AnswerStats(long from, long to, long bucketMillis) {
+        this.from = from;
+        this.to = to;
+        this.bucketMillis = bucketMillis;
+        this.curveBuckets = curveBuckets(from, to, bucketMillis);
+    }
+    
+    private static int curveBuckets(long from, long to, long bucketMillis) {
+        if (bucketMillis < 0) {
+            throw new IllegalArgumentException("Bucket-Breite negativ: " + bucketMillis);
+        }
+        if (bucketMillis == 0 || to <= from) {
+            return 0;
+        }
+        // to - from kann long überlaufen, ist als vorzeichenlose Zahl aber exakt
+        long buckets = Long.divideUnsigned(to - from - 1, bucketMillis) + 1;
+        if (buckets > MAX_CURVE_BUCKETS) {
+            throw new IllegalArgumentException("Fortschrittskurve mit " + Long.toUnsignedString(buckets)
+                + " Buckets, höchstens " + MAX_CURVE_BUCKETS + " erlaubt");
+        }
+        return (int) buckets;
+    }
+    
+    private int bucketOf(long timestamp) {
+        return (int) Long.divideUnsigned(timestamp - from, bucketMillis);
+    }
+    
+    static int operatorIndex(char operator) {
+        for (int i = 0; i < OPERATORS.length; i++) {
+            if (OPERATORS[i] == operator) {
+                return i;
+            }
+        }
+        return OTHER;
+    }
+    
+    /**
+     * Stellt die Kurven-Buckets für Antworten mit Zeitstempeln zwischen
+     * minTimestamp und maxTimestamp bereit (Teil außerhalb des Zeitraums
+     * wird ignoriert) - vor record()
+     */
+    void reserveCurve(long minTimestamp, long maxTimestamp) {
+        if (curveBuckets == 0 || minTimestamp > maxTimestamp || maxTimestamp < from || minTimestamp >= to) {
+            return;
+        }
+        ensureCurve(bucketOf(Math.max(minTimestamp, from)), bucketOf(Math.min(maxTimestamp, to - 1)) + 1);
+    }
+    
+    /**
+     * Erweitert das Fenster der Kurve auf mindestens [first, end)
+     */
+    private void ensureCurve(int first, int end) {
+        int currentEnd = curveOffset + curveAnswers.length;
+        if (curveAnswers.length > 0) {
+            if (first >= curveOffset && end <= currentEnd) {
+                return;
+            }
+            first = Math.min(first, curveOffset);
+            end = Math.max(end, currentEnd);
+        }
+        long[] answers = new long[end - first];
+        long[] correct = new long[end - first];
+        if (curveAnswers.length > 0) {
+            System.arraycopy(curveAnswers, 0, answers, curveOffset - first, curveAnswers.length);
+            System.arraycopy(curveCorrect, 0, correct, curveOffset - first, curveCorrect.length);
+        }
+        curveOffset = first;
+        curveAnswers = answers;
+        curveCorrect = correct;
+    }
+    
+    /**
+     * Zählt eine Antwort (Zeitstempel liegt im Zeitraum und in einem
+     * per reserveCurve bereitgestellten Bereich)
+     */
+    void record(long timestamp, int operatorIndex, int latencyMillis, boolean isCorrect) {
+        answers[operatorIndex]++;
+        latency[operatorIndex][indexOf(Math.max(0, Math.min(latencyMillis, MAX_VALUE)))]++;
+        if (isCorrect) {
+            correct[operatorIndex]++;
+        }
+        if (curveBuckets > 0) {
+            int bucket = bucketOf(timestamp) - curveOffset;
+            curveAnswers[bucket]++;
+            if (isCorrect) {
+                curveCorrect[bucket]++;
+            }
+        }
+    }
+    
+    void segmentScanned() {
+        segmentsScanned++;
+    }
+    
+    void segmentSkipped() {
+        segmentsSkipped++;
+    }
+    
+    /**
+     * Addiert ein Teilergebnis mit gleichem Zeitraum
+     */
+    AnswerStats add(AnswerStats other) {
+        for (int op = 0; op <= OTHER; op++) {
+            answers[op] += other.answers[op];
+            correct[op] += other.correct[op];
+            for (int i = 0; i < BUCKETS; i++) {
+                latency[op][i] += other.latency[op][i];
+            }
+        }
+        if (other.curveAnswers.length > 0) {
+            ensureCurve(other.curveOffset, other.curveOffset + other.curveAnswers.length);
+            int shift = other.curveOffset - curveOffset;
+            for (int i = 0; i < other.curveAnswers.length; i++) {
+                curveAnswers[shift + i] += other.curveAnswers[i];
+                curveCorrect[shift + i] += other.curveCorrect[i];
+            }
+        }
+        segmentsScanned += other.segmentsScanned;
+        segmentsSkipped += other.segmentsSkipped;
+        return this;
+    }
+    
+    private static int indexOf(int value) {
+        if (value < SUB_COUNT) {
+            return value;
+        }
+        int msb = 31 - Integer.numberOfLeadingZeros(value);
+        int exponent = msb - SUB_BITS + 1;
+        int mantissa = value >>> (msb - SUB_BITS);
+        return exponent * SUB_COUNT + mantissa - SUB_COUNT;
+    }
+    
+    private static long valueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT;
+        long mantissa = index % SUB_COUNT + SUB_COUNT;
+        return mantissa << (exponent - 1);
+    }
+    
+    public long getFrom() {
+        return from;
+    }
+    
+    public long getTo() {
+        return to;
+    }
+    
+    public long getCount() {
+        long total = 0;
+        for (long count : answers) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public long getCorrectCount() {
+        long total = 0;
+        for (long count : correct) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Erfolgsquote in Prozent wie ScoreService.getSuccessRate(), 0 ohne Antworten
+     */
+    public double getSuccessRate() {
+        long total = getCount();
+        return total > 0 ? getCorrectCount() * 100.0 / total : 0;
+    }
+    
+    public long getCount(char operator) {
+        return answers[operatorIndex(operator)];
+    }
+    
+    public double getSuccessRate(char operator) {
+        int op = operatorIndex(operator);
+        return answers[op] > 0 ? correct[op] * 100.0 / answers[op] : 0;
+    }
+    
+    /**
+     * @param percentile 0..100
+     * @return Antwortzeit in ms (untere Bucket-Grenze), 0 ohne Antworten
+     */
+    public long getLatencyPercentile(double percentile) {
+        long[] merged = new long[BUCKETS];
+        for (long[] histogram : latency) {
+            for (int i = 0; i < BUCKETS; i++) {
+                merged[i] += histogram[i];
+            }
+        }
+        return percentile(merged, percentile);
+    }
+    
+    public long getLatencyPercentile(char operator, double percentile) {
+        return percentile(latency[operatorIndex(operator)], percentile);
+    }
+    
+    private static long percentile(long[] histogram, double percentile) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= target) {
+                return valueOf(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+    
+    /**
+     * Anzahl der Buckets der Fortschrittskurve (0 ohne Kurve)
+     */
+    public int getCurveSize() {
+        return curveBuckets;
+    }
+    
+    public long getCurveStart(int bucket) {
+        return from + bucket * bucketMillis;
+    }
+    
+    public long getCurveCount(int bucket) {
+        int index = bucket - curveOffset;
+        return index >= 0 && index < curveAnswers.length ? curveAnswers[index] : 0;
+    }
+    
+    public double getCurveSuccessRate(int bucket) {
+        int index = bucket - curveOffset;
+        if (index < 0 || index >= curveAnswers.length || curveAnswers[index] == 0) {
+            return 0;
+        }
+        return curveCorrect[index] * 100.0 / curveAnswers[index];
+    }
+    
+    /**
+     * Gelesene bzw. per Zone Map übersprungene Segmente
+     */
+    public int getSegmentsScanned() {
+        return segmentsScanned;
+    }
+    
+    public int getSegmentsSkipped() {
+        return segmentsSkipped;
+    }
+}
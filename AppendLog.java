@@ -0,0 +1,342 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * AppendLog - Segmentiertes Append-Only-Log fester Datensatzgröße
+ * 
+ * Datensätze werden direkt in eine per mmap eingeblendete Segmentdatei
+ * kopiert - append() ist ein Speicherzugriff ohne Systemaufruf. Ist ein
+ * Segment voll, wird das nächste angelegt (prefix-BASIS.log, BASIS =
+ * Sequenznummer des ersten Datensatzes).
+ * 
+ * Group Commit: ein Hintergrund-Thread schreibt alle COMMIT_INTERVAL
+ * die seit dem letzten Mal geänderten Bereiche mit force() auf die
+ * Platte, für alle bis dahin angehängten Datensätze auf einmal. Nach
+ * einem Absturz des Prozesses liegen die Daten ohnehin im Page Cache;
+ * force() sichert gegen Stromausfall. Wer auf Dauerhaftigkeit warten
+ * muss, nutzt awaitCommit().
+ * 
+ * Jeder Datensatz endet mit einer CRC32C über die Nutzdaten. Beim Öffnen
+ * wird nur das letzte Segment vom Anfang bis zum ersten ungültigen
+ * Datensatz gelesen (nie beschriebene Slots sind Nullen und damit
+ * ungültig, halb geschriebene fallen an der CRC auf) - die Wiederherstellung
+ * kostet also höchstens ein Segment, unabhängig von der Länge des Logs.
+ * Alles hinter dem letzten gültigen Datensatz wird dabei genullt und auf
+ * die Platte geschrieben: ein gültiger Datensatz eines früheren Laufs
+ * hinter einem zerrissenen Slot würde sonst nach dem nächsten Absturz
+ * als neuestes Ende gelesen.
+ */
+public final class AppendLog implements Closeable {
+    static final int CRC_SIZE = 4;
+    private static final String SUFFIX = ".log";
+    private static final long COMMIT_INTERVAL_MILLIS = Long.getLong("retro.logCommitMillis", 50);
+    
+    private final Path directory;
+    private final String prefix;
+    private final int payloadSize;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final CRC32C crc = new CRC32C();
+    private final Thread committer;
+    
+    // Schreibzustand - nur unter dem Monitor von this
+    private MappedByteBuffer segment;
+    // Eigene Sicht für die CRC: position/limit von segment bleiben unberührt,
+    // force(index, length) des Committers prüft gegen limit()
+    private ByteBuffer crcView;
+    private long segmentBase;
+    private int slot;
+    private long nextSequence;
+    private int dirtyFrom;
+    private final List<MappedByteBuffer> sealed = new ArrayList<>();
+    private boolean closed;
+    
+    private final Object commitLock = new Object();
+    private volatile long committedSequence;
+    private final ByteBuffer recovered;
+    
+    private AppendLog(Path directory, String prefix, int payloadSize, int recordsPerSegment) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.payloadSize = payloadSize;
+        this.recordSize = payloadSize + CRC_SIZE;
+        this.recordsPerSegment = recordsPerSegment;
+        Files.createDirectories(directory);
+        this.recovered = recover();
+        this.committedSequence = nextSequence;
+        
+        committer = new Thread(this::commitLoop, "AppendLog-" + prefix);
+        committer.setDaemon(true);
+        committer.start();
+    }
+    
+    /**
+     * Öffnet (bzw. legt an) das Log im Verzeichnis und stellt das Ende wieder her
+     * @param payloadSize Nutzdaten pro Datensatz in Bytes (plus 4 Bytes CRC)
+     */
+    public static AppendLog open(Path directory, String prefix, int payloadSize, int recordsPerSegment) throws IOException {
+        return new AppendLog(directory, prefix, payloadSize, recordsPerSegment);
+    }
+    
+    /**
+     * Hängt einen Datensatz an (position bis limit = payloadSize Bytes)
+     * @return Sequenznummer des Datensatzes
+     */
+    public synchronized long append(ByteBuffer payload) throws IOException {
+        if (closed) {
+            throw new IOException("AppendLog ist geschlossen");
+        }
+        if (payload.remaining() != payloadSize) {
+            throw new IllegalArgumentException("Datensatz hat " + payload.remaining() + " statt " + payloadSize + " Bytes");
+        }
+        if (slot == recordsPerSegment) {
+            roll();
+        }
+        int offset = slot * recordSize;
+        segment.put(offset, payload, payload.position(), payloadSize);
+        // CRC zuletzt: erst sie macht den Datensatz gültig
+        segment.putInt(offset + payloadSize, checksum(crc, crcView, offset, payloadSize));
+        slot++;
+        return nextSequence++;
+    }
+    
+    /**
+     * Letzter gültiger Datensatz beim Öffnen (Nutzdaten, nur lesbar) oder null
+     */
+    public ByteBuffer getRecoveredRecord() {
+        return recovered != null ? recovered.asReadOnlyBuffer() : null;
+    }
+    
+    /**
+     * Sequenznummer des nächsten Datensatzes = Anzahl aller Datensätze
+     */
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+    
+    /**
+     * Alle Datensätze vor dieser Sequenznummer sind auf der Platte
+     */
+    public long getCommittedSequence() {
+        return committedSequence;
+    }
+    
+    /**
+     * Schreibt alle bisher angehängten Datensätze auf die Platte
+     */
+    public void commit() {
+        List<MappedByteBuffer> toForce;
+        MappedByteBuffer current;
+        int from, to;
+        long sequence;
+        synchronized (this) {
+            if (segment == null) {
+                return;
+            }
+            toForce = sealed.isEmpty() ? Collections.emptyList() : new ArrayList<>(sealed);
+            sealed.clear();
+            current = segment;
+            from = dirtyFrom;
+            to = slot * recordSize;
+            dirtyFrom = to;
+            sequence = nextSequence;
+        }
+        // force() außerhalb des Monitors - append() läuft weiter
+        for (MappedByteBuffer buffer : toForce) {
+            buffer.force();
+        }
+        if (to > from) {
+            current.force(from, to - from);
+        }
+        synchronized (commitLock) {
+            if (sequence > committedSequence) {
+                committedSequence = sequence;
+                commitLock.notifyAll();
+            }
+        }
+    }
+    
+    /**
+     * Wartet, bis der Datensatz mit dieser Sequenznummer auf der Platte ist
+     * @return false bei Zeitüberschreitung
+     */
+    public boolean awaitCommit(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (commitLock) {
+            while (committedSequence <= sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(commitLock, remaining);
+            }
+        }
+        return true;
+    }
+    
+    private void commitLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(COMMIT_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                commit();
+            } catch (RuntimeException e) {
+                System.err.println("[AppendLog] Commit fehlgeschlagen: " + e);
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        committer.interrupt();
+        commit();
+        synchronized (this) {
+            closed = true;
+            segment = null;
+            crcView = null;
+        }
+    }
+    
+    private void roll() throws IOException {
+        sealed.add(segment);
+        segmentBase = nextSequence;
+        segment = map(segmentPath(segmentBase));
+        crcView = segment.duplicate();
+        slot = 0;
+        dirtyFrom = 0;
+    }
+    
+    /**
+     * Sucht das letzte Segment und darin das Ende der gültigen Datensätze
+     * @return Kopie des letzten gültigen Datensatzes oder null
+     */
+    private ByteBuffer recover() throws IOException {
+        List<Path> segments = segments(directory, prefix);
+        if (segments.isEmpty()) {
+            segmentBase = 0;
+            segment = map(segmentPath(0));
+            crcView = segment.duplicate();
+            return null;
+        }
+        
+        Path last = segments.get(segments.size() - 1);
+        segmentBase = baseOf(last, prefix);
+        segment = map(last);
+        crcView = segment.duplicate();
+        slot = validRecords(crcView, payloadSize, recordsPerSegment);
+        nextSequence = segmentBase + slot;
+        dirtyFrom = slot * recordSize;
+        clearTail(last);
+        if (slot > 0) {
+            return copyPayload(segment, slot - 1);
+        }
+        // Leeres letztes Segment (Absturz direkt nach dem Anlegen): Ende des vorherigen
+        if (segments.size() > 1) {
+            MappedByteBuffer previous = map(segments.get(segments.size() - 2));
+            int count = validRecords(previous.duplicate(), payloadSize, recordsPerSegment);
+            if (count > 0) {
+                return copyPayload(previous, count - 1);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Nullt das Segment ab dem ersten ungültigen Slot bis zum letzten
+     * Byte ungleich 0 und schreibt den Bereich auf die Platte
+     */
+    private void clearTail(Path file) {
+        int start = slot * recordSize;
+        int end = segment.capacity();
+        while (end > start && segment.get(end - 1) == 0) {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        segment.put(start, new byte[end - start]);
+        segment.force(start, end - start);
+        System.err.println("[AppendLog] " + file.getFileName() + ": " + (end - start)
+            + " Bytes ab Sequenz " + nextSequence + " verworfen");
+    }
+    
+    /**
+     * Segmentdateien eines Logs, aufsteigend nach Basis-Sequenznummer
+     */
+    static List<Path> segments(Path directory, String prefix) throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "-*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    segments.put(baseOf(file, prefix), file);
+                } catch (NumberFormatException e) {
+                    System.err.println("[AppendLog] Fremde Datei ignoriert: " + file.getFileName());
+                }
+            }
+        }
+        return new ArrayList<>(segments.values());
+    }
+    
+    static long baseOf(Path segment, String prefix) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length() + 1, name.length() - SUFFIX.length()));
+    }
+    
+    /**
+     * Anzahl gültiger Datensätze vom Anfang des Segments bis zur ersten
+     * falschen CRC (position/limit von buffer werden verändert)
+     */
+    static int validRecords(ByteBuffer buffer, int payloadSize, int maxRecords) {
+        CRC32C crc = new CRC32C();
+        int recordSize = payloadSize + CRC_SIZE;
+        int count = 0;
+        while (count < maxRecords) {
+            int offset = count * recordSize;
+            if (buffer.getInt(offset + payloadSize) != checksum(crc, buffer, offset, payloadSize)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * CRC32C der Nutzdaten ab offset, ohne eine Slice zu allokieren
+     */
+    private static int checksum(CRC32C crc, ByteBuffer buffer, int offset, int payloadSize) {
+        crc.reset();
+        buffer.limit(offset + payloadSize).position(offset);
+        crc.update(buffer);
+        buffer.clear();
+        return (int) crc.getValue();
+    }
+    
+    private ByteBuffer copyPayload(ByteBuffer buffer, int index) {
+        ByteBuffer copy = ByteBuffer.allocate(payloadSize);
+        copy.put(0, buffer, index * recordSize, payloadSize);
+        return copy;
+    }
+    
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%s-%020d%s", prefix, base, SUFFIX));
+    }
+    
+    private MappedByteBuffer map(Path file) throws IOException {
+        // Das Mapping bleibt nach dem Schließen des Kanals gültig
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordSize * recordsPerSegment);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package audio;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * AudioMixer - Software-Mixer mit eigenem Thread und fester Latenz
+ * 
+ * playSound-Aufrufe landen als Effekt-ID in einem vorab allokierten
+ * Trigger-Ring: die Position wird per CAS beansprucht, wie beim
+ * RingBufferDispatcher - kein Lock, kein Thread, kein Objekt pro Aufruf.
+ * 
+ * Der Mixer-Thread übernimmt die Trigger in freie Stimmen (MAX_VOICES,
+ * ebenfalls vorab angelegt), summiert alle laufenden Stimmen blockweise
+ * und schreibt jeden Block in die AudioSink. Die Sink blockiert, solange
+ * ihr Puffer voll ist, und taktet den Mixer so auf Abspielgeschwindigkeit.
+ * Zwischen zwei Effekten wird Stille geschrieben - die Line läuft durch
+ * und ein neuer Effekt ist spätestens nach Block + Line-Puffer zu hören.
+ * 
+ * Hintergrundmusik erzeugt ein ChipSynth direkt in denselben Mix-Block.
+ */
+public class AudioMixer implements Runnable {
+    public static final int BLOCK_FRAMES = 256;
+    public static final int MAX_VOICES = 8;
+    private static final int TRIGGER_CAPACITY = 64;
+    
+    private final SoundBank soundBank;
+    private final AudioSink sink;
+    
+    // Trigger-Ring (mehrere Producer, ein Consumer)
+    private final int mask = TRIGGER_CAPACITY - 1;
+    private final AtomicLongArray sequences = new AtomicLongArray(TRIGGER_CAPACITY);
+    private final int[] triggers = new int[TRIGGER_CAPACITY];
+    private final AtomicLong producerCursor = new AtomicLong();
+    private long consumerCursor;
+    private final AtomicLong dropped = new AtomicLong();
+    
+    // Stimmen - gehören allein dem Mixer-Thread
+    private final byte[][] voiceSamples = new byte[MAX_VOICES][];
+    private final int[] voicePositions = new int[MAX_VOICES];
+    private volatile int activeVoices;
+    
+    // Musik - der Synthesizer gehört dem Mixer-Thread, andere Threads setzen nur requestedMusic
+    private final ChipSynth music = new ChipSynth();
+    private volatile ChipPattern requestedMusic;
+    
+    private final int[] mix = new int[BLOCK_FRAMES];
+    private final byte[] block = new byte[BLOCK_FRAMES];
+    
+    private volatile float volume = 0.5f;
+    private volatile boolean running;
+    private Thread thread;
+    
+    public AudioMixer(SoundBank soundBank, AudioSink sink) {
+        this.soundBank = soundBank;
+        this.sink = sink;
+        for (int i = 0; i < TRIGGER_CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "AudioMixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+    
+    /**
+     * Hält den Mixer an und schließt die Sink
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Startet einen Effekt; von beliebigen Threads aufrufbar
+     * @return false bei unbekannter ID oder vollem Trigger-Ring (Effekt entfällt)
+     */
+    public boolean trigger(int soundId) {
+        if (soundId < 0 || soundId >= soundBank.size()) {
+            return false;
+        }
+        long pos = producerCursor.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(pos, pos + 1)) {
+                    triggers[index] = soundId;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = producerCursor.get();
+            } else if (diff < 0) {
+                // Ring voll: lieber einen Klick verlieren als den EDT blockieren
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                pos = producerCursor.get();
+            }
+        }
+    }
+    
+    /**
+     * Spielt ein Pattern in Schleife als Hintergrundmusik; null stoppt sie.
+     * Übernommen wird es zu Beginn des nächsten Blocks.
+     */
+    public void playMusic(ChipPattern pattern) {
+        requestedMusic = pattern;
+    }
+    
+    public void setVolume(float volume) {
+        this.volume = Math.max(0, Math.min(1, volume));
+    }
+    
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+    
+    public long getDroppedTriggers() {
+        return dropped.get();
+    }
+    
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                acceptTriggers();
+                acceptMusic();
+                mixBlock();
+                sink.write(block, 0, BLOCK_FRAMES);
+            } catch (Exception e) {
+                System.err.println("[AudioMixer] Error: " + e.getMessage());
+                running = false;
+            }
+        }
+    }
+    
+    /**
+     * Übernimmt alle wartenden Trigger in freie Stimmen. Sind alle belegt,
+     * wird die Stimme verdrängt, die am längsten spielt.
+     */
+    private void acceptTriggers() {
+        while (true) {
+            int index = (int) (consumerCursor & mask);
+            if (sequences.get(index) != consumerCursor + 1) {
+                return;
+            }
+            int soundId = triggers[index];
+            sequences.set(index, consumerCursor + TRIGGER_CAPACITY);
+            consumerCursor++;
+            
+            int voice = 0;
+            for (int v = 0; v < MAX_VOICES; v++) {
+                if (voiceSamples[v] == null) {
+                    voice = v;
+                    break;
+                }
+                if (voicePositions[v] > voicePositions[voice]) {
+                    voice = v;
+                }
+            }
+            voiceSamples[voice] = soundBank.samples(soundId);
+            voicePositions[voice] = 0;
+        }
+    }
+    
+    private void acceptMusic() {
+        ChipPattern requested = requestedMusic;
+        if (requested != music.getPattern()) {
+            music.load(requested);
+        }
+    }
+    
+    private void mixBlock() {
+        Arrays.fill(mix, 0);
+        int active = 0;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            byte[] samples = voiceSamples[v];
+            if (samples == null) {
+                continue;
+            }
+            int pos = voicePositions[v];
+            int frames = Math.min(BLOCK_FRAMES, samples.length - pos);
+            for (int i = 0; i < frames; i++) {
+                mix[i] += samples[pos + i];
+            }
+            if (pos + frames >= samples.length) {
+                voiceSamples[v] = null;
+            } else {
+                voicePositions[v] = pos + frames;
+                active++;
+            }
+        }
+        activeVoices = active;
+        music.render(mix, BLOCK_FRAMES);
+        
+        // Lautstärke als 8.8-Festkomma, Summe auf den 8-Bit-Bereich begrenzen
+        int gain = Math.round(volume * 256);
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int sample = (mix[i] * gain) >> 8;
+            block[i] = (byte) Math.max(-128, Math.min(127, sample));
+        }
+    }
+}
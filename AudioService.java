@@ -0,0 +1,202 @@
+package services;
+
+import audio.*;
+import core.Service;
+import events.*;
+import javax.sound.sampled.LineUnavailableException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AudioService - Microservice für Retro-Soundeffekte
+ * 
+ * Alle Effekte werden beim Erzeugen einmal in die SoundBank synthetisiert.
+ * start() öffnet eine einzige Audio-Line für die ganze Laufzeit, auf die
+ * der AudioMixer alle Effekte gemischt ausgibt. playSound() reiht nur
+ * noch die Effekt-ID ein.
+ * 
+ * Hintergrundmusik liegt als ChipPattern vor und wird vom ChipSynth im
+ * Mixer-Thread blockweise erzeugt, nicht vorgerendert.
+ * 
+ * Ohne Soundkarte (oder mit -Dretro.audio=null) wird in eine
+ * NullAudioSink gemischt.
+ */
+public class AudioService implements Service {
+    // Line-Puffer: 4 Mixer-Blöcke, ca. 23 ms Latenz
+    private static final int LINE_BUFFER_BYTES = 4 * AudioMixer.BLOCK_FRAMES;
+    
+    private final EventBus eventBus;
+    private final SoundBank soundBank = new SoundBank();
+    private final Map<String, ChipPattern> music = new HashMap<>();
+    private volatile String musicName;
+    private final AudioSink configuredSink;
+    private volatile AudioMixer mixer;
+    private boolean running;
+    private boolean muted = false;
+    private float volume = 0.5f;
+    
+    public AudioService() {
+        this(null);
+    }
+    
+    /**
+     * @param sink Ausgabe für den Mixer; null öffnet beim Start die Audio-Line
+     */
+    public AudioService(AudioSink sink) {
+        this.eventBus = EventBus.getInstance();
+        this.configuredSink = sink;
+        initializeSounds();
+        initializeMusic();
+    }
+    
+    private void initializeSounds() {
+        // Korrekt: aufsteigender Dreiklang
+        soundBank.define("correct", new int[]{523, 659, 784}, new int[]{100, 100, 150});
+        
+        // Falsch: absteigender Ton
+        soundBank.define("wrong", new int[]{200, 150}, new int[]{150, 200});
+        
+        // Level Up: Tonleiter
+        soundBank.define("levelup",
+            new int[]{523, 587, 659, 698, 784, 880, 988, 1047},
+            new int[]{80, 80, 80, 80, 80, 80, 80, 200});
+        
+        // Klick
+        soundBank.define("click", new int[]{800}, new int[]{30});
+        
+        // Start
+        soundBank.define("start", new int[]{262, 330, 392, 523}, new int[]{100, 100, 100, 200});
+    }
+    
+    private void initializeMusic() {
+        // Titelmusik: C - F - G - C, 4 Takte in Schleife
+        music.put("theme", ChipPattern.parse(120,
+            "C5 . E5 . G5 . E5 . C5 . E5 . G5 . C6 . | A5 . F5 . C5 . F5 . A5 . C6 . A5 . F5 . | " +
+            "G5 . B4 . D5 . G5 . B5 . G5 . D5 . B4 . | C5 . . . E5 . . . G5 . . . - . . .",
+            "E4 . . . . . . . . . . . . . . . | F4 . . . . . . . . . . . . . . . | " +
+            "D4 . . . . . . . . . . . . . . . | E4 . . . . . . . . . . . - . . .",
+            "C3 . . . C3 . . . G2 . . . C3 . . . | F2 . . . F2 . . . C3 . . . F2 . . . | " +
+            "G2 . . . G2 . . . D3 . . . G2 . . . | C3 . . . G2 . . . C3 . . . - . . .",
+            "C . 3 . C . 3 . C . 3 . C . 3 3 | C . 3 . C . 3 . C . 3 . C . 3 3 | " +
+            "C . 3 . C . 3 . C . 3 . C . 3 3 | C . 3 . C . 3 . C . . . . . . .")
+            .duty(ChipPattern.PULSE_1, 2)
+            .duty(ChipPattern.PULSE_2, 4));
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        
+        eventBus.subscribe(GameEvent.PLAY_SOUND, this::onPlaySound);
+        eventBus.subscribe(GameEvent.ANSWER_CORRECT, e -> playSound("correct"));
+        eventBus.subscribe(GameEvent.ANSWER_WRONG, e -> playSound("wrong"));
+        eventBus.subscribe(GameEvent.LEVEL_UP, e -> playSound("levelup"));
+        
+        AudioMixer audioMixer = new AudioMixer(soundBank, configuredSink != null ? configuredSink : openSink());
+        audioMixer.setVolume(volume);
+        audioMixer.start();
+        mixer = audioMixer;
+        updateMusic();
+        
+        System.out.println("[AudioService] Started");
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        AudioMixer audioMixer = mixer;
+        mixer = null;
+        if (audioMixer != null) {
+            audioMixer.stop();
+        }
+        System.out.println("[AudioService] Stopped");
+    }
+    
+    @Override
+    public String getName() {
+        return "AudioService";
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Öffnet die Audio-Line; ohne Ausgabegerät wird stumm weitergemischt
+     */
+    private AudioSink openSink() {
+        if ("null".equals(System.getProperty("retro.audio"))) {
+            return new NullAudioSink(true);
+        }
+        try {
+            return LineAudioSink.open(SoundBank.FORMAT, LINE_BUFFER_BYTES);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("[AudioService] Keine Audio-Ausgabe, Sounds stumm: " + e.getMessage());
+            return new NullAudioSink(true);
+        }
+    }
+    
+    private void onPlaySound(GameEvent event) {
+        playSound(event.getString("sound"));
+    }
+    
+    /**
+     * Spielt einen Effekt ab - ohne Allokation, kehrt sofort zurück
+     */
+    public void playSound(String soundName) {
+        if (muted) {
+            return;
+        }
+        AudioMixer audioMixer = mixer;
+        int id = soundBank.id(soundName);
+        if (audioMixer != null && id >= 0) {
+            audioMixer.trigger(id);
+        }
+    }
+    
+    /**
+     * Startet ein Musikstück in Schleife (läuft beim Stummschalten nicht)
+     */
+    public void playMusic(String name) {
+        musicName = name;
+        updateMusic();
+    }
+    
+    public void stopMusic() {
+        playMusic(null);
+    }
+    
+    private void updateMusic() {
+        AudioMixer audioMixer = mixer;
+        String name = musicName;
+        if (audioMixer != null) {
+            audioMixer.playMusic(muted || name == null ? null : music.get(name));
+        }
+    }
+    
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+        updateMusic();
+    }
+    
+    public void setVolume(float volume) {
+        this.volume = Math.max(0, Math.min(1, volume));
+        AudioMixer audioMixer = mixer;
+        if (audioMixer != null) {
+            audioMixer.setVolume(this.volume);
+        }
+    }
+    
+    public boolean isMuted() {
+        return muted;
+    }
+    
+    public SoundBank getSoundBank() {
+        return soundBank;
+    }
+    
+    public ChipPattern getMusic(String name) {
+        return music.get(name);
+    }
+}
@@ -0,0 +1,17 @@
+package audio;
+
+/**
+ * AudioSink - Ziel für die fertig gemischten PCM-Daten des AudioMixer
+ * 
+ * write() darf blockieren, bis Platz im Ausgabepuffer ist - darüber wird
+ * der Mixer-Thread auf Abspielgeschwindigkeit getaktet.
+ */
+public interface AudioSink {
+    
+    /**
+     * Schreibt length Bytes im Format SoundBank.FORMAT
+     */
+    void write(byte[] buffer, int offset, int length);
+    
+    void close();
+}
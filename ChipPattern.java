@@ -0,0 +1,146 @@
+package audio;
+
+/**
+ * ChipPattern - Kompaktes Tracker-Format für ChipSynth
+ * 
+ * Ein Pattern besteht aus Zeilen (Rows) für vier Kanäle: Puls 1, Puls 2,
+ * Dreieck und Rauschen. Jeder Kanal ist ein String aus Tokens, getrennt
+ * durch Leerzeichen; "|" darf als Taktstrich stehen und wird ignoriert.
+ * 
+ * - Puls/Dreieck: Note mit Oktave ("C4", "F#3", "Bb5"), "." hält die
+ *   vorige Note, "-" beendet sie
+ * - Rauschen: Hex-Ziffer 0-F als Perioden-Index wie beim NES-Noise-Kanal
+ *   (0 = hell, F = dumpf), "." und "-" wie oben
+ * 
+ * Beim Parsen entstehen pro Kanal Zahlen-Arrays, die der Synthesizer nur
+ * noch liest. Das Pattern läuft in Schleife; kürzere Kanäle werden mit
+ * "." aufgefüllt.
+ */
+public final class ChipPattern {
+    public static final int PULSE_1 = 0;
+    public static final int PULSE_2 = 1;
+    public static final int TRIANGLE = 2;
+    public static final int NOISE = 3;
+    public static final int CHANNELS = 4;
+    
+    /** Zelle ohne neue Note */
+    static final int HOLD = 0;
+    /** Zelle, die den Kanal stumm schaltet */
+    static final int OFF = -1;
+    
+    private static final int ROWS_PER_BEAT = 4;
+    private static final String NOTE_NAMES = "C D EF G A B";
+    
+    private final int[][] cells;
+    private final int rows;
+    private final int samplesPerRow;
+    private final int[] duty = {2, 4};
+    
+    private ChipPattern(int[][] cells, int rows, int bpm) {
+        this.cells = cells;
+        this.rows = rows;
+        this.samplesPerRow = SoundBank.SAMPLE_RATE * 60 / (bpm * ROWS_PER_BEAT);
+    }
+    
+    /**
+     * @param bpm Tempo in Schlägen pro Minute, eine Zeile ist ein Sechzehntel
+     * @param channels bis zu vier Kanäle in der Reihenfolge Puls 1, Puls 2, Dreieck, Rauschen
+     */
+    public static ChipPattern parse(int bpm, String... channels) {
+        if (bpm <= 0 || channels.length > CHANNELS) {
+            throw new IllegalArgumentException("Ungültiges Pattern: bpm=" + bpm + ", Kanäle=" + channels.length);
+        }
+        String[][] tokens = new String[CHANNELS][];
+        int rows = 0;
+        for (int ch = 0; ch < CHANNELS; ch++) {
+            String channel = ch < channels.length ? channels[ch].replace("|", " ").trim() : "";
+            tokens[ch] = channel.isEmpty() ? new String[0] : channel.split("\\s+");
+            rows = Math.max(rows, tokens[ch].length);
+        }
+        if (rows == 0) {
+            throw new IllegalArgumentException("Leeres Pattern");
+        }
+        
+        int[][] cells = new int[CHANNELS][rows];
+        for (int ch = 0; ch < CHANNELS; ch++) {
+            for (int row = 0; row < tokens[ch].length; row++) {
+                cells[ch][row] = parseCell(tokens[ch][row], ch == NOISE);
+            }
+        }
+        return new ChipPattern(cells, rows, bpm);
+    }
+    
+    private static int parseCell(String token, boolean noise) {
+        if (token.equals(".")) {
+            return HOLD;
+        }
+        if (token.equals("-")) {
+            return OFF;
+        }
+        if (noise) {
+            if (token.length() == 1 && Character.digit(token.charAt(0), 16) >= 0) {
+                // +1, damit Index 0 nicht mit HOLD zusammenfällt
+                return Character.digit(token.charAt(0), 16) + 1;
+            }
+            throw new IllegalArgumentException("Ungültiger Noise-Wert: " + token);
+        }
+        
+        int note = NOTE_NAMES.indexOf(Character.toUpperCase(token.charAt(0)));
+        int index = 1;
+        if (note < 0) {
+            throw new IllegalArgumentException("Ungültige Note: " + token);
+        }
+        if (index < token.length() && token.charAt(index) == '#') {
+            note++;
+            index++;
+        } else if (index < token.length() && token.charAt(index) == 'b') {
+            note--;
+            index++;
+        }
+        try {
+            int octave = Integer.parseInt(token.substring(index));
+            // MIDI-Notennummer: C4 = 60
+            int midi = (octave + 1) * 12 + note;
+            if (midi < 1 || midi > 127) {
+                throw new IllegalArgumentException("Note außerhalb des Bereichs: " + token);
+            }
+            return midi;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige Note: " + token);
+        }
+    }
+    
+    /**
+     * Tastverhältnis eines Pulskanals in Achteln: 1 = 12.5%, 2 = 25%, 4 = 50%, 6 = 75%
+     */
+    public ChipPattern duty(int pulseChannel, int eighths) {
+        if (pulseChannel != PULSE_1 && pulseChannel != PULSE_2 || eighths < 1 || eighths > 7) {
+            throw new IllegalArgumentException("Ungültiges Tastverhältnis: " + pulseChannel + "/" + eighths);
+        }
+        duty[pulseChannel] = eighths;
+        return this;
+    }
+    
+    int cell(int channel, int row) {
+        return cells[channel][row];
+    }
+    
+    int getDuty(int pulseChannel) {
+        return duty[pulseChannel];
+    }
+    
+    public int getRows() {
+        return rows;
+    }
+    
+    public int getSamplesPerRow() {
+        return samplesPerRow;
+    }
+    
+    /**
+     * @return Länge eines Durchlaufs in Samples
+     */
+    public int getLength() {
+        return rows * samplesPerRow;
+    }
+}
@@ -0,0 +1,198 @@
+package audio;
+
+/**
+ * ChipSynth - Streamender Chiptune-Synthesizer nach Vorbild der NES-APU
+ * 
+ * Vier Kanäle: zwei Pulswellen mit einstellbarem Tastverhältnis und
+ * Hüllkurve, eine 4-Bit-Dreieckswelle (ohne Lautstärke, wie beim NES) und
+ * Rauschen aus einem 15-Bit-LFSR mit der NES-Periodentabelle.
+ * 
+ * Statt ganze Stücke vorzurendern, füllt render() Block für Block den
+ * Mix-Puffer des AudioMixer. Frequenzen laufen als 32-Bit-Phasenakkumulator,
+ * alle Tabellen sind statisch - die innere Schleife rechnet nur mit int
+ * und allokiert nichts.
+ * 
+ * Nicht thread-sicher: gehört dem Mixer-Thread.
+ */
+public final class ChipSynth {
+    // NTSC-CPU-Takt, mit ihm wird der Noise-Timer getaktet
+    private static final double CPU_CLOCK = 1_789_773;
+    private static final int[] NOISE_PERIODS = {
+        4, 8, 16, 32, 64, 96, 128, 160, 202, 254, 380, 508, 762, 1016, 2034, 4068
+    };
+    // 32 Schritte 15..0, 0..15 wie der Dreieck-Sequencer
+    private static final int[] TRIANGLE_STEPS = new int[32];
+    // Phasenschritt pro Sample für MIDI-Note 0..127
+    private static final int[] NOTE_STEPS = new int[128];
+    // LFSR-Takte pro Sample als 16.16-Festkomma
+    private static final int[] NOISE_STEPS = new int[NOISE_PERIODS.length];
+    
+    // Hüllkurve: Startpegel, Haltepegel und Samples pro Pegelschritt (Dreieck hat keine)
+    private static final int[] ATTACK_LEVEL = {15, 10, 0, 15};
+    private static final int[] SUSTAIN_LEVEL = {8, 6, 0, 0};
+    private static final int[] ENVELOPE_PERIOD = {
+        SoundBank.SAMPLE_RATE / 40, SoundBank.SAMPLE_RATE / 40, 1, SoundBank.SAMPLE_RATE / 150
+    };
+    
+    static {
+        for (int i = 0; i < 16; i++) {
+            TRIANGLE_STEPS[i] = 15 - i;
+            TRIANGLE_STEPS[16 + i] = i;
+        }
+        for (int note = 0; note < NOTE_STEPS.length; note++) {
+            double frequency = 440.0 * Math.pow(2, (note - 69) / 12.0);
+            NOTE_STEPS[note] = (int) Math.round(frequency / SoundBank.SAMPLE_RATE * 4294967296.0);
+        }
+        for (int i = 0; i < NOISE_PERIODS.length; i++) {
+            NOISE_STEPS[i] = (int) Math.round(CPU_CLOCK / NOISE_PERIODS[i] / SoundBank.SAMPLE_RATE * 65536);
+        }
+    }
+    
+    private ChipPattern pattern;
+    private int row;
+    private int rowSamplesLeft;
+    
+    // Zustand je Kanal
+    private final boolean[] gate = new boolean[ChipPattern.CHANNELS];
+    private final int[] phase = new int[ChipPattern.CHANNELS];
+    private final int[] step = new int[ChipPattern.CHANNELS];
+    private final int[] level = new int[ChipPattern.CHANNELS];
+    private final int[] envelopeCounter = new int[ChipPattern.CHANNELS];
+    private int lfsr = 1;
+    
+    /**
+     * Startet ein Pattern von vorn; null schaltet stumm
+     */
+    public void load(ChipPattern pattern) {
+        this.pattern = pattern;
+        this.row = 0;
+        this.rowSamplesLeft = 0;
+        for (int ch = 0; ch < ChipPattern.CHANNELS; ch++) {
+            gate[ch] = false;
+            phase[ch] = 0;
+        }
+        lfsr = 1;
+    }
+    
+    public ChipPattern getPattern() {
+        return pattern;
+    }
+    
+    /**
+     * Addiert frames Samples auf out (ab Index 0). Pegel pro Kanal
+     * höchstens ±15, alle vier Kanäle zusammen unter ±64.
+     */
+    public void render(int[] out, int frames) {
+        if (pattern == null) {
+            return;
+        }
+        int offset = 0;
+        while (offset < frames) {
+            if (rowSamplesLeft == 0) {
+                nextRow();
+            }
+            int count = Math.min(frames - offset, rowSamplesLeft);
+            renderPulse(ChipPattern.PULSE_1, out, offset, count);
+            renderPulse(ChipPattern.PULSE_2, out, offset, count);
+            renderTriangle(out, offset, count);
+            renderNoise(out, offset, count);
+            offset += count;
+            rowSamplesLeft -= count;
+        }
+    }
+    
+    private void nextRow() {
+        for (int ch = 0; ch < ChipPattern.CHANNELS; ch++) {
+            int cell = pattern.cell(ch, row);
+            if (cell == ChipPattern.OFF) {
+                gate[ch] = false;
+            } else if (cell != ChipPattern.HOLD) {
+                gate[ch] = true;
+                step[ch] = ch == ChipPattern.NOISE ? NOISE_STEPS[cell - 1] : NOTE_STEPS[cell];
+                level[ch] = ATTACK_LEVEL[ch];
+                envelopeCounter[ch] = ENVELOPE_PERIOD[ch];
+                if (ch != ChipPattern.TRIANGLE) {
+                    phase[ch] = 0;
+                }
+            }
+        }
+        row = (row + 1) % pattern.getRows();
+        rowSamplesLeft = pattern.getSamplesPerRow();
+    }
+    
+    private void renderPulse(int ch, int[] out, int offset, int count) {
+        if (!gate[ch]) {
+            return;
+        }
+        int p = phase[ch];
+        int inc = step[ch];
+        int duty = pattern.getDuty(ch);
+        int lvl = level[ch];
+        int counter = envelopeCounter[ch];
+        int sustain = SUSTAIN_LEVEL[ch];
+        for (int i = offset; i < offset + count; i++) {
+            if (--counter == 0) {
+                counter = ENVELOPE_PERIOD[ch];
+                if (lvl > sustain) {
+                    lvl--;
+                }
+            }
+            // Obere 3 Bit der Phase = Position im 8-Schritt-Sequencer
+            out[i] += (p >>> 29) < duty ? lvl : -lvl;
+            p += inc;
+        }
+        phase[ch] = p;
+        level[ch] = lvl;
+        envelopeCounter[ch] = counter;
+    }
+    
+    private void renderTriangle(int[] out, int offset, int count) {
+        int ch = ChipPattern.TRIANGLE;
+        if (!gate[ch]) {
+            return;
+        }
+        int p = phase[ch];
+        int inc = step[ch];
+        for (int i = offset; i < offset + count; i++) {
+            // Obere 5 Bit = 32 Schritte; zentriert auf -8..7
+            out[i] += TRIANGLE_STEPS[p >>> 27] - 8;
+            p += inc;
+        }
+        phase[ch] = p;
+    }
+    
+    private void renderNoise(int[] out, int offset, int count) {
+        int ch = ChipPattern.NOISE;
+        if (!gate[ch]) {
+            return;
+        }
+        int p = phase[ch];
+        int inc = step[ch];
+        int lvl = level[ch];
+        int counter = envelopeCounter[ch];
+        int shift = lfsr;
+        for (int i = offset; i < offset + count; i++) {
+            if (--counter == 0) {
+                counter = ENVELOPE_PERIOD[ch];
+                if (lvl > 0) {
+                    lvl--;
+                }
+            }
+            p += inc;
+            while (p >= 65536) {
+                // Rückkopplung aus Bit 0 und 1 in Bit 14
+                int feedback = (shift ^ (shift >> 1)) & 1;
+                shift = (shift >> 1) | (feedback << 14);
+                p -= 65536;
+            }
+            out[i] += (shift & 1) == 0 ? lvl : -lvl;
+        }
+        if (lvl == 0) {
+            gate[ch] = false;
+        }
+        phase[ch] = p;
+        level[ch] = lvl;
+        envelopeCounter[ch] = counter;
+        lfsr = shift;
+    }
+}
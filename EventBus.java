@@ -3,19 +3,62 @@ package events;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * EventBus - Zentraler Message Broker für Service-Kommunikation
  * Implementiert das Publish-Subscribe Pattern
+ * 
+ * Die asynchrone Zustellung übernimmt ein austauschbarer EventDispatcher
+ * (Standard: geordnete Lanes pro Subscriber, alternativ Thread-Pool
+ * oder RingBufferDispatcher).
+ * 
+ * Kennzahlen (Events pro Typ, Queue-Tiefe, Handler-Latenzen) liefert
+ * getMetrics() - als Text oder per JMX.
+ * 
+ * Das Spiel nutzt den gemeinsamen Bus aus getInstance(). Weitere Busse
+ * (z.B. einer pro Spielsitzung in der Simulation) entstehen über die
+ * Konstruktoren und können sich eine Zustell-Engine teilen. Ohne
+ * Metriken spart ein Bus pro Subscription das Latenz-Histogramm (~8 KB)
+ * und pro Publish den Zähler - für Server mit vielen Sitzungen.
+ * 
+ * final: der Konstruktor reicht this an EventBusMetrics weiter, eine
+ * Unterklasse wäre dann noch nicht initialisiert.
  */
-public class EventBus {
+public final class EventBus {
     private static EventBus instance;
-    private final Map<String, List<Consumer<GameEvent>>> subscribers;
-    private final ExecutorService executor;
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+    private static final int POOL_SIZE = 64;
     
-    private EventBus() {
+    // Copy-on-write Arrays: Iteration beim Publish ohne Iterator-Objekt
+    private final Map<String, Subscription[]> subscribers;
+    private final Map<String, EventPool> pools;
+    private volatile EventDispatcher dispatcher;
+    private final EventBusMetrics metrics;
+    private final boolean metricsEnabled;
+    
+    public EventBus() {
+        this(ExecutionMode.PLATFORM.createDispatcher());
+    }
+    
+    /**
+     * Bus mit vorgegebener Zustell-Engine. Teilen sich mehrere Busse eine,
+     * darf sie erst nach dem letzten Bus beendet werden (shutdown()).
+     */
+    public EventBus(EventDispatcher dispatcher) {
+        this(dispatcher, true);
+    }
+    
+    /**
+     * @param metricsEnabled false: keine Zähler und Handler-Latenzen,
+     *        getMetrics() liefert dann nur Queue-Tiefe und Verwerfungen
+     */
+    public EventBus(EventDispatcher dispatcher, boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
         subscribers = new ConcurrentHashMap<>();
-        executor = Executors.newFixedThreadPool(4);
+        pools = new ConcurrentHashMap<>();
+        this.dispatcher = dispatcher;
+        metrics = new EventBusMetrics(this);
     }
     
     public static synchronized EventBus getInstance() {
@@ -26,28 +69,210 @@ public class EventBus {
     }
     
     public void subscribe(String eventType, Consumer<GameEvent> handler) {
-        subscribers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(handler);
+        addSubscription(new Subscription(eventType, handler, metricsEnabled));
+    }
+    
+    /**
+     * Abonniert nur den jeweils neuesten Stand eines Event-Typs.
+     * Für Zustands-Events wie SCORE_CHANGED, bei denen ältere, noch
+     * nicht zugestellte Events wertlos sind. Zusammengefasst wird nur
+     * bei publish/publishBatch - publishSync ruft den Handler direkt auf.
+     */
+    public void subscribeLatest(String eventType, Consumer<GameEvent> handler) {
+        addSubscription(new Subscription(eventType, handler, true, null, false, metricsEnabled));
+    }
+    
+    /**
+     * Wie subscribeLatest, aber das jüngste Event pro Schlüssel
+     * (z.B. pro Spieler) wird zugestellt
+     */
+    public void subscribeLatest(String eventType, Function<GameEvent, Object> keyFunction, Consumer<GameEvent> handler) {
+        addSubscription(new Subscription(eventType, handler, true, keyFunction, false, metricsEnabled));
+    }
+    
+    /**
+     * Abonniert mit einem Handler, der blockieren kann (I/O, Sound-Ausgabe).
+     * Im ExecutionMode.VIRTUAL läuft er auf virtuellen Threads.
+     */
+    public void subscribeBlocking(String eventType, Consumer<GameEvent> handler) {
+        addSubscription(new Subscription(eventType, handler, false, null, true, metricsEnabled));
+    }
+    
+    /**
+     * Abonniert Events gesammelt: alle Events des Typs, die zwischen zwei
+     * Zustellungen auflaufen (bzw. aus einem publishBatch stammen),
+     * kommen in einem einzigen Aufruf an. Die Liste gilt nur während
+     * des Aufrufs.
+     */
+    public void subscribeBatch(String eventType, Consumer<List<GameEvent>> handler) {
+        addSubscription(Subscription.batch(eventType, handler, metricsEnabled));
+    }
+    
+    private void addSubscription(Subscription subscription) {
+        subscribers.compute(subscription.getEventType(), (type, current) -> {
+            Subscription[] existing = current != null ? current : NO_SUBSCRIPTIONS;
+            Subscription[] updated = Arrays.copyOf(existing, existing.length + 1);
+            updated[existing.length] = subscription;
+            return updated;
+        });
+    }
+    
+    /**
+     * Holt ein Event aus dem Pool des Typs. Typen mit EventSchema werden
+     * wiederverwendet, sobald alle Handler es erhalten haben; für Typen
+     * ohne Schema wird ein normales Event erzeugt.
+     * Ein Pool-Event darf nur einmal veröffentlicht werden.
+     */
+    public GameEvent obtain(String eventType) {
+        EventPool pool = pools.get(eventType);
+        if (pool == null) {
+            EventSchema schema = EventSchema.forType(eventType);
+            if (schema == null) {
+                return new GameEvent(eventType);
+            }
+            pool = pools.computeIfAbsent(eventType, type -> new EventPool(schema, POOL_SIZE));
+        }
+        return pool.acquire();
     }
     
     public void publish(GameEvent event) {
-        List<Consumer<GameEvent>> handlers = subscribers.get(event.getType());
-        if (handlers != null) {
-            for (Consumer<GameEvent> handler : handlers) {
-                executor.submit(() -> handler.accept(event));
+        if (metricsEnabled) {
+            metrics.recordPublish(event.getType());
+        }
+        Subscription[] subscriptions = subscribers.get(event.getType());
+        try {
+            if (subscriptions != null) {
+                EventDispatcher current = dispatcher;
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.offer(event)) {
+                        event.retain();
+                        try {
+                            current.dispatch(subscription, event);
+                        } catch (RejectedExecutionException e) {
+                            // Nicht übernommen: eigene Referenz und Slot freigeben
+                            subscription.discard(event);
+                            metrics.recordRejected();
+                            throw e;
+                        }
+                    }
+                }
             }
+        } finally {
+            event.release();
+        }
+    }
+    
+    /**
+     * Veröffentlicht mehrere Events auf einmal (z.B. NEW_TASK,
+     * SCORE_CHANGED und ANIMATION_START eines Spielzugs).
+     * Jede Subscription erhält ihren Anteil als eine Einheit: der
+     * Dispatcher reiht ihn gemeinsam ein, Batch-Subscriptions bekommen
+     * ihn in einem Handler-Aufruf. Die Reihenfolge bleibt erhalten.
+     */
+    public void publishBatch(List<GameEvent> events) {
+        Map<Subscription, List<GameEvent>> routed = new LinkedHashMap<>();
+        try {
+            for (GameEvent event : events) {
+                if (metricsEnabled) {
+                    metrics.recordPublish(event.getType());
+                }
+                Subscription[] subscriptions = subscribers.get(event.getType());
+                if (subscriptions == null) {
+                    continue;
+                }
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.offer(event)) {
+                        event.retain();
+                        routed.computeIfAbsent(subscription, s -> new ArrayList<>()).add(event);
+                    }
+                }
+            }
+            
+            EventDispatcher current = dispatcher;
+            Iterator<Map.Entry<Subscription, List<GameEvent>>> entries = routed.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Subscription, List<GameEvent>> entry = entries.next();
+                try {
+                    current.dispatchBatch(entry.getKey(), entry.getValue());
+                } catch (RejectedExecutionException e) {
+                    // Dieser und alle noch nicht eingereihten Anteile: Referenzen
+                    // und wartende Events der Subscriptions freigeben
+                    discard(entry);
+                    entries.forEachRemaining(EventBus::discard);
+                    metrics.recordRejected();
+                    throw e;
+                }
+            }
+        } finally {
+            for (GameEvent event : events) {
+                event.release();
+            }
+        }
+    }
+    
+    private static void discard(Map.Entry<Subscription, List<GameEvent>> entry) {
+        for (GameEvent event : entry.getValue()) {
+            entry.getKey().discard(event);
         }
     }
     
     public void publishSync(GameEvent event) {
-        List<Consumer<GameEvent>> handlers = subscribers.get(event.getType());
-        if (handlers != null) {
-            for (Consumer<GameEvent> handler : handlers) {
-                handler.accept(event);
+        if (metricsEnabled) {
+            metrics.recordPublish(event.getType());
+        }
+        Subscription[] subscriptions = subscribers.get(event.getType());
+        try {
+            if (subscriptions != null) {
+                for (Subscription subscription : subscriptions) {
+                    subscription.invoke(event);
+                }
             }
+        } finally {
+            event.release();
+        }
+    }
+    
+    /**
+     * Tauscht die Zustell-Engine aus; die bisherige wird beendet
+     */
+    public void setDispatcher(EventDispatcher dispatcher) {
+        EventDispatcher previous = this.dispatcher;
+        this.dispatcher = dispatcher;
+        previous.shutdown();
+    }
+    
+    /**
+     * Wechselt das Thread-Modell der asynchronen Zustellung
+     */
+    public void setExecutionMode(ExecutionMode mode) {
+        setDispatcher(mode.createDispatcher());
+    }
+    
+    public EventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+    
+    public EventBusMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+    
+    /**
+     * Alle aktuellen Subscriptions (Momentaufnahme, für Metriken)
+     */
+    List<Subscription> getSubscriptions() {
+        List<Subscription> all = new ArrayList<>();
+        for (Subscription[] subscriptions : subscribers.values()) {
+            Collections.addAll(all, subscriptions);
         }
+        return all;
     }
     
     public void shutdown() {
-        executor.shutdown();
+        metrics.stopPeriodicDump();
+        dispatcher.shutdown();
     }
 }
@@ -0,0 +1,31 @@
+package events;
+
+import java.util.Map;
+
+/**
+ * EventBusMXBean - JMX-Sicht auf die EventBusMetrics
+ * Registriert unter "events:type=EventBus,name=<name>"
+ */
+public interface EventBusMXBean {
+    
+    /** Veröffentlichte Events pro Typ seit dem Start */
+    Map<String, Long> getPublishedCounts();
+    
+    /** Aktuell wartende asynchrone Zustellungen */
+    int getQueueDepth();
+    
+    /** Vom Dispatcher verworfene Events (Lane-Overflow) */
+    long getDroppedCount();
+    
+    /** Durch subscribeLatest ersetzte, nie zugestellte Events */
+    long getCoalescedCount();
+    
+    /** Vom Dispatcher abgelehnte Zustellungen (z.B. nach shutdown) */
+    long getRejectedCount();
+    
+    /** p99-Latenz pro Handler in Mikrosekunden */
+    Map<String, Long> getHandlerP99Micros();
+    
+    /** Textausgabe wie in ServiceManager.printStatus */
+    String getStatusDump();
+}
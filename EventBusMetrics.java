@@ -0,0 +1,180 @@
+package events;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * EventBusMetrics - Laufzeit-Kennzahlen des EventBus
+ * 
+ * Auf dem Hot Path fallen nur ein Map-Lookup plus LongAdder-Inkrement
+ * pro Publish und zwei nanoTime-Aufrufe plus ein atomares Inkrement pro
+ * Handler-Aufruf an - billig genug, um dauerhaft aktiv zu bleiben.
+ * Ausgewertet wird erst beim Auslesen (dump, JMX).
+ */
+public class EventBusMetrics implements EventBusMXBean {
+    private final EventBus eventBus;
+    private final Map<String, LongAdder> published = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    
+    // Stand der letzten Ausgabe für die Rate pro Sekunde
+    private final Map<String, Long> lastCounts = new HashMap<>();
+    private long lastDumpNanos = System.nanoTime();
+    
+    private ScheduledExecutorService dumpScheduler;
+    
+    EventBusMetrics(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    void recordPublish(String eventType) {
+        LongAdder counter = published.get(eventType);
+        if (counter == null) {
+            counter = published.computeIfAbsent(eventType, type -> new LongAdder());
+        }
+        counter.increment();
+    }
+    
+    void recordRejected() {
+        rejected.increment();
+    }
+    
+    @Override
+    public Map<String, Long> getPublishedCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : published.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        return eventBus.getDispatcher().getQueueDepth();
+    }
+    
+    @Override
+    public long getDroppedCount() {
+        return eventBus.getDispatcher().getDroppedCount();
+    }
+    
+    @Override
+    public long getCoalescedCount() {
+        long total = 0;
+        for (Subscription subscription : eventBus.getSubscriptions()) {
+            total += subscription.getCoalescedCount();
+        }
+        return total;
+    }
+    
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    @Override
+    public Map<String, Long> getHandlerP99Micros() {
+        Map<String, Long> latencies = new TreeMap<>();
+        for (Subscription subscription : eventBus.getSubscriptions()) {
+            if (subscription.getLatency() == null) {
+                continue;
+            }
+            latencies.put(subscription.getName(), subscription.getLatency().getPercentile(99) / 1000);
+        }
+        return latencies;
+    }
+    
+    /**
+     * Handler-Latenzen aller Subscriptions zusammengefasst (Momentaufnahme)
+     */
+    public LatencyHistogram getHandlerLatency() {
+        LatencyHistogram total = new LatencyHistogram();
+        for (Subscription subscription : eventBus.getSubscriptions()) {
+            if (subscription.getLatency() != null) {
+                total.add(subscription.getLatency());
+            }
+        }
+        return total;
+    }
+    
+    @Override
+    public String getStatusDump() {
+        return dump();
+    }
+    
+    /**
+     * Textausgabe aller Kennzahlen; Raten beziehen sich auf den
+     * Zeitraum seit der vorherigen Ausgabe
+     */
+    public synchronized String dump() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastDumpNanos) / 1e9);
+        lastDumpNanos = now;
+        
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== EVENTBUS METRICS ===\n");
+        sb.append(String.format("Queue depth: %d  Dropped: %d  Coalesced: %d  Rejected: %d%n",
+            getQueueDepth(), getDroppedCount(), getCoalescedCount(), getRejectedCount()));
+        
+        for (Map.Entry<String, Long> entry : getPublishedCounts().entrySet()) {
+            long count = entry.getValue();
+            long previous = lastCounts.getOrDefault(entry.getKey(), 0L);
+            lastCounts.put(entry.getKey(), count);
+            sb.append(String.format("%-20s %10d  %8.1f/s%n", entry.getKey(), count, (count - previous) / seconds));
+        }
+        
+        sb.append("Handler latency (count / p50 / p99 / max, µs):\n");
+        for (Subscription subscription : eventBus.getSubscriptions()) {
+            LatencyHistogram latency = subscription.getLatency();
+            if (latency == null) {
+                continue;
+            }
+            sb.append(String.format("%-36s %8d %8.1f %8.1f %8.1f%n", subscription.getName(),
+                latency.getCount(),
+                latency.getPercentile(50) / 1000.0,
+                latency.getPercentile(99) / 1000.0,
+                latency.getMax() / 1000.0));
+        }
+        sb.append("========================");
+        return sb.toString();
+    }
+    
+    /**
+     * Gibt dump() periodisch auf System.out aus (Daemon-Thread)
+     */
+    public synchronized void startPeriodicDump(long period, TimeUnit unit) {
+        stopPeriodicDump();
+        dumpScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "EventBus-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumpScheduler.scheduleAtFixedRate(() -> System.out.println(dump()), period, period, unit);
+    }
+    
+    public synchronized void stopPeriodicDump() {
+        if (dumpScheduler != null) {
+            dumpScheduler.shutdownNow();
+            dumpScheduler = null;
+        }
+    }
+    
+    /**
+     * Registriert die Kennzahlen als MXBean (z.B. für JConsole/VisualVM)
+     */
+    public void registerMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("events:type=EventBus,name=" + name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("[EventBus] JMX-Registrierung fehlgeschlagen: " + e.getMessage());
+        }
+    }
+}
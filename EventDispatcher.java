@@ -0,0 +1,46 @@
+package events;
+
+import java.util.List;
+
+/**
+ * EventDispatcher - Austauschbare Zustell-Engine für den EventBus
+ * Entscheidet, auf welchem Thread ein Handler ein asynchron
+ * veröffentlichtes Event erhält.
+ */
+public interface EventDispatcher {
+    
+    /**
+     * Stellt ein Event asynchron an eine Subscription zu
+     * @throws java.util.concurrent.RejectedExecutionException wenn die
+     *         Engine beendet ist - das Event wurde dann nicht übernommen
+     */
+    void dispatch(Subscription subscription, GameEvent event);
+    
+    /**
+     * Stellt mehrere Events (aus EventBus.publishBatch) in Reihenfolge an
+     * eine Subscription zu. Engines mit Warteschlangen sollten sie als
+     * Ganzes einreihen und den Consumer nur einmal wecken.
+     * Eine Ablehnung gilt wie bei dispatch für alle Events des Batches.
+     */
+    default void dispatchBatch(Subscription subscription, List<GameEvent> events) {
+        for (GameEvent event : events) {
+            dispatch(subscription, event);
+        }
+    }
+    
+    /**
+     * Anzahl wartender, noch nicht zugestellter Events (für Metriken)
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+    
+    /**
+     * Anzahl wegen Überlauf verworfener Events (für Metriken)
+     */
+    default long getDroppedCount() {
+        return 0;
+    }
+    
+    void shutdown();
+}
@@ -0,0 +1,43 @@
+package events;
+
+/**
+ * EventPool - Begrenzter Vorrat wiederverwendbarer Events eines Typs
+ * Leere Pools erzeugen neue Events, volle Pools überlassen
+ * zurückgegebene Events dem GC.
+ */
+final class EventPool {
+    private final String type;
+    private final EventSchema schema;
+    private final GameEvent[] free;
+    private int size;
+    
+    EventPool(EventSchema schema, int capacity) {
+        this.type = schema.getType();
+        this.schema = schema;
+        this.free = new GameEvent[capacity];
+    }
+    
+    GameEvent acquire() {
+        GameEvent event = null;
+        synchronized (this) {
+            if (size > 0) {
+                event = free[--size];
+                free[size] = null;
+            }
+        }
+        if (event == null) {
+            event = new GameEvent(type, schema, this);
+        }
+        event.activate(System.currentTimeMillis());
+        return event;
+    }
+    
+    void recycle(GameEvent event) {
+        event.clear();
+        synchronized (this) {
+            if (size < free.length) {
+                free[size++] = event;
+            }
+        }
+    }
+}
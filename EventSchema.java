@@ -0,0 +1,171 @@
+package events;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EventSchema - Feste Slot-Belegung eines Event-Typs
+ * 
+ * Statt jeden Wert in einer Map<String,Object> abzulegen (Boxing +
+ * Map-Eintrag pro put), bekommt ein Event-Typ feste int/long/double/
+ * Referenz-Slots. Subscriber lösen die Slot-Indizes einmalig auf und
+ * lesen danach direkt aus den primitiven Arrays des GameEvent.
+ * 
+ * Schemas müssen registriert sein, bevor das erste Event des Typs
+ * entsteht. Ein registriertes Schema ist unveränderlich und lässt sich
+ * nicht ersetzen - Events und aufgelöste Slot-Indizes verlassen sich
+ * darauf.
+ */
+public final class EventSchema {
+    
+    public enum Kind { INT, LONG, DOUBLE, REF }
+    
+    private static final Kind[] KINDS = Kind.values();
+    private static final Map<String, EventSchema> SCHEMAS = new ConcurrentHashMap<>();
+    
+    // Standard-Schemas der Spiel-Events
+    static {
+        define(GameEvent.NEW_TASK)
+            .addInt("num1").addInt("num2").addInt("result")
+            .addRef("operator").addRef("taskType").addRef("scene")
+            .register();
+        define(GameEvent.SCORE_CHANGED)
+            .addInt("score").addInt("level").addInt("streak")
+            .addInt("pointsEarned").addInt("correctAnswers").addInt("wrongAnswers")
+            .addInt("progress")
+            .register();
+        define(GameEvent.LEVEL_UP)
+            .addInt("level").addInt("score")
+            .register();
+    }
+    
+    private final String type;
+    private Map<String, Integer> codes = new HashMap<>();
+    private int intCount, longCount, doubleCount, refCount;
+    private boolean registered;
+    
+    private EventSchema(String type) {
+        this.type = type;
+    }
+    
+    /**
+     * Beginnt ein Schema für einen Event-Typ; gültig erst nach register()
+     */
+    public static EventSchema define(String type) {
+        return new EventSchema(type);
+    }
+    
+    /**
+     * Registriert das Schema und friert es ein
+     * @throws IllegalStateException wenn der Typ schon ein Schema hat
+     */
+    public EventSchema register() {
+        checkNotRegistered();
+        codes = Map.copyOf(codes);
+        registered = true;
+        if (SCHEMAS.putIfAbsent(type, this) != null) {
+            throw new IllegalStateException("Schema für " + type + " ist bereits registriert");
+        }
+        return this;
+    }
+    
+    /**
+     * @return Schema des Typs oder null, wenn der Typ untypisiert ist
+     */
+    public static EventSchema forType(String type) {
+        return SCHEMAS.get(type);
+    }
+    
+    public EventSchema addInt(String name) {
+        return add(name, Kind.INT, intCount++);
+    }
+    
+    public EventSchema addLong(String name) {
+        return add(name, Kind.LONG, longCount++);
+    }
+    
+    public EventSchema addDouble(String name) {
+        return add(name, Kind.DOUBLE, doubleCount++);
+    }
+    
+    public EventSchema addRef(String name) {
+        return add(name, Kind.REF, refCount++);
+    }
+    
+    private EventSchema add(String name, Kind kind, int index) {
+        checkNotRegistered();
+        codes.put(name, kind.ordinal() << 16 | index);
+        return this;
+    }
+    
+    private void checkNotRegistered() {
+        if (registered) {
+            throw new IllegalStateException("Schema für " + type + " ist registriert und unveränderlich");
+        }
+    }
+    
+    /**
+     * Löst einen Slot-Index auf (einmalig, z.B. beim Subscriben)
+     * @throws IllegalArgumentException wenn der Slot fehlt oder eine andere Art hat
+     */
+    public int slot(String name, Kind kind) {
+        int code = code(name);
+        if (code < 0 || kindOf(code) != kind) {
+            throw new IllegalArgumentException(type + " hat keinen " + kind + "-Slot '" + name + "'");
+        }
+        return indexOf(code);
+    }
+    
+    public int intSlot(String name) {
+        return slot(name, Kind.INT);
+    }
+    
+    public int longSlot(String name) {
+        return slot(name, Kind.LONG);
+    }
+    
+    public int doubleSlot(String name) {
+        return slot(name, Kind.DOUBLE);
+    }
+    
+    public int refSlot(String name) {
+        return slot(name, Kind.REF);
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    /**
+     * Kodierter Slot (Art und Index) oder -1 - ohne Allokation
+     */
+    int code(String name) {
+        Integer code = codes.get(name);
+        return code != null ? code : -1;
+    }
+    
+    static Kind kindOf(int code) {
+        return KINDS[code >>> 16];
+    }
+    
+    static int indexOf(int code) {
+        return code & 0xFFFF;
+    }
+    
+    int getIntCount() {
+        return intCount;
+    }
+    
+    int getLongCount() {
+        return longCount;
+    }
+    
+    int getDoubleCount() {
+        return doubleCount;
+    }
+    
+    int getRefCount() {
+        return refCount;
+    }
+}
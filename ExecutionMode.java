@@ -0,0 +1,60 @@
+package events;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ExecutionMode - Thread-Modell für die asynchrone Zustellung
+ */
+public enum ExecutionMode {
+    
+    /** Alle Handler auf einem begrenzten Pool von Plattform-Threads */
+    PLATFORM,
+    
+    /**
+     * Blockierende Handler (subscribeBlocking) je auf einem virtuellen
+     * Thread, CPU-lastige Handler weiter auf dem begrenzten Plattform-Pool.
+     * Ein hängender Handler hält so keine Score- oder UI-Events auf.
+     * Benötigt JDK 21.
+     */
+    VIRTUAL;
+    
+    static final int LANE_CAPACITY = 1024;
+    
+    EventDispatcher createDispatcher() {
+        EventDispatcher platform = new LaneDispatcher(LANE_CAPACITY, OverflowPolicy.BLOCK);
+        if (this == PLATFORM) {
+            return platform;
+        }
+        ExecutorService executor = newVirtualThreadExecutor();
+        if (executor == null) {
+            platform.shutdown();
+            throw new UnsupportedOperationException("ExecutionMode.VIRTUAL benötigt JDK 21 (virtuelle Threads)");
+        }
+        EventDispatcher virtual = new LaneDispatcher(executor,
+            LaneDispatcher.Sharding.PER_SUBSCRIBER, LANE_CAPACITY, OverflowPolicy.BLOCK);
+        return new HybridDispatcher(platform, virtual);
+    }
+    
+    /**
+     * Executor mit einem virtuellen Thread je Aufgabe. Wird per Reflection
+     * erzeugt, damit das Spiel (PLATFORM) auch mit JDK 17 baut und läuft.
+     * @return null, wenn die Laufzeit keine virtuellen Threads kennt
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtuelle Threads nicht verfügbar", e);
+        }
+    }
+    
+    /**
+     * Parst "platform" / "virtual" (z.B. aus Kommandozeilen-Argumenten)
+     */
+    public static ExecutionMode parse(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,75 @@
+package bench;
+
+import events.*;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * ExecutionModeBenchmark - Durchsatz und Latenz der ExecutionModes
+ * 
+ * Vier CPU-Handler erhalten einen Strom von Events, jedes 100. Event
+ * löst zusätzlich einen blockierenden "Sound"-Handler aus (5ms, wie ein
+ * SourceDataLine.write). Gemessen wird die Latenz Publish -> CPU-Handler.
+ * 
+ * Aufruf: java bench.ExecutionModeBenchmark platform|virtual
+ */
+public class ExecutionModeBenchmark {
+    private static final String TICK = "BENCH_TICK";
+    private static final String SOUND = "BENCH_SOUND";
+    private static final int EVENTS = 20_000;
+    private static final int CPU_HANDLERS = 4;
+    private static final int SOUND_EVERY = 100;
+    private static final long SOUND_BLOCK_MILLIS = 5;
+    
+    public static void main(String[] args) throws InterruptedException {
+        ExecutionMode mode = args.length > 0 ? ExecutionMode.parse(args[0]) : ExecutionMode.PLATFORM;
+        
+        EventSchema.define(TICK).addLong("sent").register();
+        int sentSlot = EventSchema.forType(TICK).longSlot("sent");
+        
+        EventBus bus = EventBus.getInstance();
+        bus.setExecutionMode(mode);
+        
+        long[][] latencies = new long[CPU_HANDLERS][EVENTS];
+        CountDownLatch done = new CountDownLatch(CPU_HANDLERS * EVENTS);
+        for (int h = 0; h < CPU_HANDLERS; h++) {
+            long[] samples = latencies[h];
+            int[] count = new int[1];
+            bus.subscribe(TICK, e -> {
+                samples[count[0]++] = System.nanoTime() - e.getLong(sentSlot);
+                done.countDown();
+            });
+        }
+        bus.subscribeBlocking(SOUND, e -> {
+            try {
+                Thread.sleep(SOUND_BLOCK_MILLIS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            GameEvent event = bus.obtain(TICK);
+            event.setLong(sentSlot, System.nanoTime());
+            bus.publish(event);
+            if (i % SOUND_EVERY == 0) {
+                bus.publish(new GameEvent(SOUND));
+            }
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        
+        long[] all = new long[CPU_HANDLERS * EVENTS];
+        for (int h = 0; h < CPU_HANDLERS; h++) {
+            System.arraycopy(latencies[h], 0, all, h * EVENTS, EVENTS);
+        }
+        Arrays.sort(all);
+        
+        System.out.printf("mode=%s cores=%d deliveries/s=%.0f p50=%dus p99=%dus max=%dus%n",
+            mode, Runtime.getRuntime().availableProcessors(),
+            all.length / (elapsed / 1e9),
+            all[all.length / 2] / 1000, all[(int) (all.length * 0.99)] / 1000, all[all.length - 1] / 1000);
+        bus.shutdown();
+    }
+}
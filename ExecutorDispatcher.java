@@ -0,0 +1,50 @@
+package events;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * ExecutorDispatcher - Standard-Engine des EventBus
+ * Jede Zustellung wird als eigener Task an einen Thread-Pool übergeben.
+ */
+public class ExecutorDispatcher implements EventDispatcher {
+    private final ExecutorService executor;
+    
+    public ExecutorDispatcher(int threads) {
+        this(Executors.newFixedThreadPool(threads));
+    }
+    
+    public ExecutorDispatcher(ExecutorService executor) {
+        this.executor = executor;
+    }
+    
+    @Override
+    public void dispatch(Subscription subscription, GameEvent event) {
+        executor.submit(() -> subscription.deliver(event));
+    }
+    
+    /**
+     * Ein Task für den ganzen Batch statt einem pro Event
+     */
+    @Override
+    public void dispatchBatch(Subscription subscription, List<GameEvent> events) {
+        executor.submit(() -> {
+            for (GameEvent event : events) {
+                subscription.deliverSafely(event);
+            }
+        });
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return 0;
+    }
+    
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
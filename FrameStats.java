@@ -0,0 +1,67 @@
+package rendering;
+
+import events.LatencyHistogram;
+
+/**
+ * FrameStats - Frame-Zeiten des Render-Loops
+ * 
+ * Misst den Abstand zwischen zwei fertigen Frames (inkl. Wartezeit) in
+ * einem LatencyHistogram. p50 zeigt die erreichte Bildrate, p99 und max
+ * zeigen Ruckler. fps wird jede Sekunde neu aus der Frame-Anzahl bestimmt.
+ * Schreiben aus einem Thread (Render-Thread oder EDT), Lesen aus beliebigen.
+ */
+public class FrameStats {
+    private static final long SECOND = 1_000_000_000L;
+    
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private long lastFrame;
+    private long windowStart;
+    private int windowFrames;
+    private volatile double fps;
+    
+    /**
+     * Meldet einen fertigen Frame (Zeitpunkt aus System.nanoTime())
+     */
+    public void frame(long now) {
+        if (lastFrame == 0) {
+            lastFrame = now;
+            windowStart = now;
+            return;
+        }
+        frameTimes.record(now - lastFrame);
+        lastFrame = now;
+        
+        windowFrames++;
+        if (now - windowStart >= SECOND) {
+            fps = windowFrames * (double) SECOND / (now - windowStart);
+            windowStart = now;
+            windowFrames = 0;
+        }
+    }
+    
+    public long getFrameCount() {
+        return frameTimes.getCount();
+    }
+    
+    public double getFps() {
+        return fps;
+    }
+    
+    public double getP50Millis() {
+        return frameTimes.getPercentile(50) / 1e6;
+    }
+    
+    public double getP99Millis() {
+        return frameTimes.getPercentile(99) / 1e6;
+    }
+    
+    public double getMaxMillis() {
+        return frameTimes.getMax() / 1e6;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d Frames, %.1f fps, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+            getFrameCount(), getFps(), getP50Millis(), getP99Millis(), getMaxMillis());
+    }
+}
@@ -0,0 +1,295 @@
+package events;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * GameEvent - Nachricht zwischen den Services
+ * Enthält Typ, Zeitstempel und die Nutzdaten des Events
+ * 
+ * Für Typen mit EventSchema liegen die Nutzdaten in festen primitiven
+ * Slots (kein Boxing, keine Map-Einträge). get/getInt/getString mit
+ * String-Schlüssel bleiben als Kompatibilitäts-Sicht erhalten und
+ * verhalten sich wie die frühere Map: ein nie gesetzter Slot liefert
+ * null, ein Wert anderen Typs (z.B. Long für einen int-Slot) landet
+ * unverändert in der Überlauf-Map statt im Slot.
+ * 
+ * Events aus EventBus.obtain() stammen aus einem Pool und werden nach
+ * der Zustellung wiederverwendet - Handler dürfen sie nicht über den
+ * Aufruf hinaus festhalten.
+ */
+public class GameEvent {
+    // Event-Typen
+    public static final String NEW_TASK = "NEW_TASK";
+    public static final String ANSWER_SUBMITTED = "ANSWER_SUBMITTED";
+    public static final String ANSWER_CORRECT = "ANSWER_CORRECT";
+    public static final String ANSWER_WRONG = "ANSWER_WRONG";
+    public static final String LEVEL_UP = "LEVEL_UP";
+    public static final String SCORE_CHANGED = "SCORE_CHANGED";
+    public static final String PLAY_SOUND = "PLAY_SOUND";
+    public static final String RENDER_UPDATE = "RENDER_UPDATE";
+    public static final String ANIMATION_START = "ANIMATION_START";
+    public static final String GAME_STATE_CHANGED = "GAME_STATE_CHANGED";
+    
+    private static final AtomicIntegerFieldUpdater<GameEvent> REFERENCES =
+        AtomicIntegerFieldUpdater.newUpdater(GameEvent.class, "references");
+    
+    private final String type;
+    private Map<String, Object> data;
+    private long timestamp;
+    
+    // Typisierte Slots (nur mit Schema)
+    private final EventSchema schema;
+    private final int[] ints;
+    private final long[] longs;
+    private final double[] doubles;
+    private final Object[] refs;
+    // Gesetzt-Markierung der int-, long- und double-Slots (in dieser Reihenfolge)
+    private final boolean[] present;
+    
+    // Pooling
+    private final EventPool pool;
+    private volatile int references;
+    
+    public GameEvent(String type) {
+        this(type, EventSchema.forType(type), null);
+    }
+    
+    public GameEvent(String type, Map<String, Object> data) {
+        this(type);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            putValue(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    GameEvent(String type, EventSchema schema, EventPool pool) {
+        this.type = type;
+        this.schema = schema;
+        this.pool = pool;
+        this.timestamp = System.currentTimeMillis();
+        this.ints = schema != null ? new int[schema.getIntCount()] : null;
+        this.longs = schema != null ? new long[schema.getLongCount()] : null;
+        this.doubles = schema != null ? new double[schema.getDoubleCount()] : null;
+        this.refs = schema != null ? new Object[schema.getRefCount()] : null;
+        this.present = schema != null
+            ? new boolean[schema.getIntCount() + schema.getLongCount() + schema.getDoubleCount()] : null;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public EventSchema getSchema() {
+        return schema;
+    }
+    
+    /**
+     * @return Wert des Schlüssels oder null, wenn er nicht gesetzt ist
+     */
+    public Object get(String key) {
+        int code = code(key);
+        if (code >= 0) {
+            int index = EventSchema.indexOf(code);
+            switch (EventSchema.kindOf(code)) {
+                case INT:
+                    if (present[index]) {
+                        return ints[index];
+                    }
+                    break;
+                case LONG:
+                    if (present[ints.length + index]) {
+                        return longs[index];
+                    }
+                    break;
+                case DOUBLE:
+                    if (present[ints.length + longs.length + index]) {
+                        return doubles[index];
+                    }
+                    break;
+                default:
+                    return refs[index];
+            }
+        }
+        return data != null ? data.get(key) : null;
+    }
+    
+    public GameEvent put(String key, Object value) {
+        putValue(key, value);
+        return this;
+    }
+    
+    // Nicht überschreibbar, damit der Map-Konstruktor keine Unterklasse aufruft
+    private void putValue(String key, Object value) {
+        int code = code(key);
+        if (code >= 0 && putSlot(code, value)) {
+            if (data != null) {
+                data.remove(key);
+            }
+            return;
+        }
+        if (data == null) {
+            data = new HashMap<>();
+        }
+        data.put(key, value);
+    }
+    
+    /**
+     * Legt den Wert im Slot ab, wenn er dessen Typ hat; sonst wird der
+     * Slot geleert und false geliefert (Wert gehört in die Überlauf-Map)
+     */
+    private boolean putSlot(int code, Object value) {
+        int index = EventSchema.indexOf(code);
+        switch (EventSchema.kindOf(code)) {
+            case INT:
+                if (value instanceof Integer) {
+                    ints[index] = (Integer) value;
+                    present[index] = true;
+                    return true;
+                }
+                ints[index] = 0;
+                present[index] = false;
+                return false;
+            case LONG:
+                if (value instanceof Long) {
+                    longs[index] = (Long) value;
+                    present[ints.length + index] = true;
+                    return true;
+                }
+                longs[index] = 0L;
+                present[ints.length + index] = false;
+                return false;
+            case DOUBLE:
+                if (value instanceof Double) {
+                    doubles[index] = (Double) value;
+                    present[ints.length + longs.length + index] = true;
+                    return true;
+                }
+                doubles[index] = 0.0;
+                present[ints.length + longs.length + index] = false;
+                return false;
+            default:
+                refs[index] = value;
+                return true;
+        }
+    }
+    
+    public int getInt(String key) {
+        int code = code(key);
+        if (code >= 0 && EventSchema.kindOf(code) == EventSchema.Kind.INT) {
+            int index = EventSchema.indexOf(code);
+            if (present[index]) {
+                return ints[index];
+            }
+        }
+        Object value = get(key);
+        return value != null ? (Integer) value : 0;
+    }
+    
+    public String getString(String key) {
+        Object value = get(key);
+        return value != null ? (String) value : "";
+    }
+    
+    public boolean getBoolean(String key) {
+        Object value = get(key);
+        return value != null ? (Boolean) value : false;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    /**
+     * Wie put, aber ohne Boxing, wenn der Schlüssel ein int-Slot ist
+     */
+    public GameEvent putInt(String key, int value) {
+        int code = code(key);
+        if (code >= 0 && EventSchema.kindOf(code) == EventSchema.Kind.INT) {
+            setInt(EventSchema.indexOf(code), value);
+            if (data != null) {
+                data.remove(key);
+            }
+            return this;
+        }
+        return put(key, value);
+    }
+    
+    // Direkter Slot-Zugriff (Indizes über EventSchema auflösen)
+    
+    public int getInt(int slot) {
+        return ints[slot];
+    }
+    
+    public GameEvent setInt(int slot, int value) {
+        ints[slot] = value;
+        present[slot] = true;
+        return this;
+    }
+    
+    public long getLong(int slot) {
+        return longs[slot];
+    }
+    
+    public GameEvent setLong(int slot, long value) {
+        longs[slot] = value;
+        present[ints.length + slot] = true;
+        return this;
+    }
+    
+    public double getDouble(int slot) {
+        return doubles[slot];
+    }
+    
+    public GameEvent setDouble(int slot, double value) {
+        doubles[slot] = value;
+        present[ints.length + longs.length + slot] = true;
+        return this;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T getRef(int slot) {
+        return (T) refs[slot];
+    }
+    
+    public GameEvent setRef(int slot, Object value) {
+        refs[slot] = value;
+        return this;
+    }
+    
+    private int code(String key) {
+        return schema != null ? schema.code(key) : -1;
+    }
+    
+    // Referenzzählung für gepoolte Events - für alle anderen No-Ops
+    
+    void retain() {
+        if (pool != null) {
+            REFERENCES.incrementAndGet(this);
+        }
+    }
+    
+    void release() {
+        if (pool != null && REFERENCES.decrementAndGet(this) == 0) {
+            pool.recycle(this);
+        }
+    }
+    
+    /**
+     * Macht ein Event aus dem Pool wieder benutzbar (eine Referenz: der Publisher)
+     */
+    void activate(long timestamp) {
+        this.timestamp = timestamp;
+        REFERENCES.set(this, 1);
+    }
+    
+    void clear() {
+        Arrays.fill(ints, 0);
+        Arrays.fill(longs, 0L);
+        Arrays.fill(doubles, 0.0);
+        Arrays.fill(refs, null);
+        Arrays.fill(present, false);
+        if (data != null) {
+            data.clear();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package rendering;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
+
+/**
+ * GameLoop - Render-Loop auf einem eigenen Thread
+ * 
+ * Die Simulation läuft mit festem Zeitschritt (UPDATES_PER_SECOND),
+ * unabhängig von der Bildrate. Gezeichnet wird danach einmal mit dem
+ * Anteil alpha (0..1), um den die Zeit schon im nächsten Schritt liegt -
+ * der Renderer kann damit zwischen letztem und aktuellem Zustand
+ * interpolieren. Die Bildrate wird auf targetFps gebremst (0 = ungebremst).
+ * 
+ * Eine Exception aus update oder render beendet den Loop und den Thread.
+ */
+public class GameLoop implements Runnable {
+    public static final int UPDATES_PER_SECOND = 60;
+    
+    private static final long STEP_NANOS = 1_000_000_000L / UPDATES_PER_SECOND;
+    // Mehr Schritte pro Frame holt der Loop nicht nach (z.B. nach GC-Pause)
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    // Die letzte Strecke vor dem Frame-Termin wird aktiv gewartet
+    private static final long SPIN_NANOS = 500_000;
+    
+    private final Runnable update;
+    private final DoubleConsumer render;
+    private final long frameNanos;
+    private final FrameStats stats;
+    private volatile boolean running;
+    private Thread thread;
+    
+    /**
+     * @param update ein Simulationsschritt
+     * @param render zeichnet einen Frame, Argument ist alpha
+     */
+    public GameLoop(Runnable update, DoubleConsumer render, int targetFps, FrameStats stats) {
+        this.update = update;
+        this.render = render;
+        this.frameNanos = targetFps > 0 ? 1_000_000_000L / targetFps : 0;
+        this.stats = stats;
+    }
+    
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    public synchronized void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    public FrameStats getStats() {
+        return stats;
+    }
+    
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        long nextFrame = previous;
+        
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+            
+            try {
+                int steps = 0;
+                while (accumulator >= STEP_NANOS && steps < MAX_STEPS_PER_FRAME) {
+                    update.run();
+                    accumulator -= STEP_NANOS;
+                    steps++;
+                }
+                if (accumulator >= STEP_NANOS) {
+                    // Rückstand verwerfen statt die Simulation vorzuspulen
+                    accumulator = STEP_NANOS - 1;
+                }
+                render.accept((double) accumulator / STEP_NANOS);
+            } catch (RuntimeException | Error e) {
+                // Nicht weiterzeichnen: der Zustand nach einem Fehler ist unbestimmt
+                running = false;
+                System.err.println("[GameLoop] Stopped: " + e);
+                throw e;
+            }
+            stats.frame(System.nanoTime());
+            
+            if (frameNanos > 0) {
+                nextFrame += frameNanos;
+                if (nextFrame - System.nanoTime() < -frameNanos) {
+                    // Mehr als einen Frame zu spät: nicht aufholen, neu takten
+                    nextFrame = System.nanoTime();
+                }
+                sleepUntil(nextFrame);
+            }
+        }
+    }
+    
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_NANOS);
+        }
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package server;
+
+import core.Service;
+import core.ServiceManager;
+import events.*;
+import services.ScoreService;
+import services.TaskService;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * GameSession - Eine isolierte Spielsitzung im SessionHost
+ * 
+ * Eigener EventBus (ohne Metriken), ServiceManager, TaskService und
+ * ScoreService; TaskView ersetzt UIService und merkt sich die aktuelle
+ * Aufgabe. Der gesamte Zustand wird nur aus Aufträgen der Mailbox
+ * angefasst - alle Events laufen per publishSync, die Services sehen
+ * also wie im Spiel immer nur einen Thread zur Zeit.
+ * 
+ * Die öffentlichen Methoden sind asynchron und liefern einen Snapshot.
+ */
+public final class GameSession {
+    public static final List<String> TASK_TYPES = Arrays.asList(
+        "Addition", "Subtraktion", "Multiplikation", "Division", "Gemischt", "Adaptiv");
+    
+    private static final int MAILBOX_CAPACITY = 64;
+    
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_NUM1 = TASK_SCHEMA.intSlot("num1");
+    private static final int SLOT_NUM2 = TASK_SCHEMA.intSlot("num2");
+    private static final int SLOT_OPERATOR = TASK_SCHEMA.refSlot("operator");
+    private static final int SLOT_TASK_TYPE = TASK_SCHEMA.refSlot("taskType");
+    
+    private final String id;
+    private final Mailbox mailbox;
+    private final EventBus eventBus;
+    private final ServiceManager manager;
+    private final TaskService taskService;
+    private final ScoreService scoreService;
+    private final TaskView view;
+    private volatile long lastAccess;
+    
+    GameSession(String id, Executor scheduler, EventDispatcher dispatcher) {
+        this.id = id;
+        this.mailbox = new Mailbox(scheduler, MAILBOX_CAPACITY);
+        this.eventBus = new EventBus(dispatcher, false);
+        this.taskService = new TaskService(eventBus);
+        // Keine Pipeline: ein Hintergrund-Thread pro Sitzung skaliert nicht
+        taskService.setLookahead(0);
+        // Keine Statusausgaben je Sitzung: System.out ist synchronisiert
+        taskService.setQuiet(true);
+        this.scoreService = new ScoreService(eventBus);
+        scoreService.setQuiet(true);
+        this.view = new TaskView();
+        this.manager = new ServiceManager(eventBus, true);
+        manager.registerService(taskService);
+        manager.registerService(scoreService);
+        manager.registerService(view);
+        this.lastAccess = System.currentTimeMillis();
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public long getLastAccess() {
+        return lastAccess;
+    }
+    
+    int getMailboxDepth() {
+        return mailbox.depth();
+    }
+    
+    /**
+     * Startet die Services und stellt die erste Aufgabe
+     */
+    CompletableFuture<Snapshot> start(String taskType) {
+        return ask(() -> {
+            taskService.setTaskType(taskType);
+            manager.startAll();
+            eventBus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
+            return snapshot(null, 0);
+        });
+    }
+    
+    CompletableFuture<Void> stop() {
+        return ask(() -> {
+            manager.stopAll();
+            return null;
+        });
+    }
+    
+    public CompletableFuture<Snapshot> state() {
+        return ask(() -> snapshot(null, 0));
+    }
+    
+    /**
+     * Prüft eine Antwort wie UIService.submitAnswer(); nach einer
+     * richtigen Antwort steht sofort die nächste Aufgabe bereit
+     */
+    public CompletableFuture<Snapshot> answer(int answer) {
+        return ask(() -> {
+            int solution = taskService.getCurrentResult();
+            boolean correct = taskService.checkAnswer(answer);
+            if (correct) {
+                eventBus.publishSync(new GameEvent(GameEvent.ANSWER_CORRECT));
+                eventBus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
+            } else {
+                eventBus.publishSync(new GameEvent(GameEvent.ANSWER_WRONG));
+            }
+            return snapshot(correct, solution);
+        });
+    }
+    
+    public CompletableFuture<Snapshot> nextTask() {
+        return ask(() -> {
+            eventBus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
+            return snapshot(null, 0);
+        });
+    }
+    
+    public CompletableFuture<Snapshot> setTaskType(String taskType) {
+        if (!TASK_TYPES.contains(taskType)) {
+            throw new IllegalArgumentException("Unbekannter Modus: " + taskType);
+        }
+        return ask(() -> {
+            taskService.setTaskType(taskType);
+            eventBus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
+            return snapshot(null, 0);
+        });
+    }
+    
+    /**
+     * Führt eine Aktion in der Mailbox der Sitzung aus
+     */
+    private <T> CompletableFuture<T> ask(Supplier<T> action) {
+        lastAccess = System.currentTimeMillis();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean accepted = mailbox.post(() -> {
+            try {
+                result.complete(action.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!accepted) {
+            result.completeExceptionally(new RejectedExecutionException("Mailbox von Sitzung " + id + " ist voll"));
+        }
+        return result;
+    }
+    
+    private Snapshot snapshot(Boolean correct, int solution) {
+        return new Snapshot(id, view.num1, view.operator, view.num2, view.taskType,
+            scoreService.getScore(), scoreService.getLevel(), scoreService.getStreak(),
+            scoreService.getCorrectAnswers(), scoreService.getWrongAnswers(), correct, solution);
+    }
+    
+    /**
+     * Unveränderlicher Stand einer Sitzung nach einem Auftrag
+     */
+    public static final class Snapshot {
+        public final String id;
+        public final int num1;
+        public final String operator;
+        public final int num2;
+        public final String taskType;
+        public final int score;
+        public final int level;
+        public final int streak;
+        public final int correctAnswers;
+        public final int wrongAnswers;
+        /** Ergebnis der Antwort, null wenn der Auftrag keine Antwort war */
+        public final Boolean correct;
+        /** Lösung der beantworteten Aufgabe (nur nach einer Antwort) */
+        public final int solution;
+        
+        Snapshot(String id, int num1, String operator, int num2, String taskType, int score, int level, int streak,
+                 int correctAnswers, int wrongAnswers, Boolean correct, int solution) {
+            this.id = id;
+            this.num1 = num1;
+            this.operator = operator;
+            this.num2 = num2;
+            this.taskType = taskType;
+            this.score = score;
+            this.level = level;
+            this.streak = streak;
+            this.correctAnswers = correctAnswers;
+            this.wrongAnswers = wrongAnswers;
+            this.correct = correct;
+            this.solution = solution;
+        }
+        
+        public String toJson() {
+            StringBuilder json = new StringBuilder("{");
+            json.append("\"id\":\"").append(id).append("\",");
+            json.append("\"task\":{\"num1\":").append(num1)
+                .append(",\"operator\":\"").append(operator)
+                .append("\",\"num2\":").append(num2)
+                .append(",\"type\":\"").append(taskType).append("\"},");
+            json.append("\"score\":").append(score)
+                .append(",\"level\":").append(level)
+                .append(",\"streak\":").append(streak)
+                .append(",\"correctAnswers\":").append(correctAnswers)
+                .append(",\"wrongAnswers\":").append(wrongAnswers);
+            if (correct != null) {
+                json.append(",\"correct\":").append(correct);
+                if (!correct) {
+                    json.append(",\"solution\":").append(solution);
+                }
+            }
+            return json.append('}').toString();
+        }
+    }
+    
+    /**
+     * Ersatz für UIService: merkt sich die aktuelle Aufgabe aus NEW_TASK
+     */
+    private final class TaskView implements Service {
+        private boolean running;
+        int num1, num2;
+        String operator = "";
+        String taskType = "";
+        
+        @Override
+        public void start() {
+            running = true;
+            eventBus.subscribe(GameEvent.NEW_TASK, this::onNewTask);
+        }
+        
+        @Override
+        public void stop() {
+            running = false;
+        }
+        
+        @Override
+        public String getName() {
+            return "TaskView";
+        }
+        
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+        
+        private void onNewTask(GameEvent event) {
+            num1 = event.getInt(SLOT_NUM1);
+            num2 = event.getInt(SLOT_NUM2);
+            operator = event.getRef(SLOT_OPERATOR);
+            taskType = event.getRef(SLOT_TASK_TYPE);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package rendering;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GlyphAtlas - Zwischenspeicher für RetroFont
+ * 
+ * Zwei Ebenen mit LRU-Verdrängung: jedes Zeichen wird pro (Größe, Farbe)
+ * einmal gerastert, jeder Text pro (Größe, Farbe, Schatten, Glow) einmal
+ * aus diesen Zeichen zusammengesetzt. Danach ist ein Text ein einziges
+ * drawImage. Texte ohne sichtbares Zeichen werden gar nicht gezeichnet.
+ * 
+ * Synchronisiert, da Texte je nach Render-Modus vom EDT oder vom
+ * Render-Thread gezeichnet werden.
+ */
+final class GlyphAtlas {
+    // Markiert Texte, die nichts zeichnen
+    private static final BufferedImage BLANK = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    
+    private final Map<GlyphKey, BufferedImage> glyphs;
+    private final Map<TextKey, BufferedImage> texts;
+    private final GlyphKey glyphProbe = new GlyphKey();
+    private final TextKey textProbe = new TextKey();
+    
+    GlyphAtlas(int glyphCapacity, int textCapacity) {
+        this.glyphs = lru(glyphCapacity);
+        this.texts = lru(textCapacity);
+    }
+    
+    private static <K> Map<K, BufferedImage> lru(int capacity) {
+        return new LinkedHashMap<K, BufferedImage>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, BufferedImage> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Zeichnet einen Text wie RetroFont.drawText bzw. drawGlowText
+     */
+    synchronized void drawText(Graphics2D g2d, String text, int x, int y, int scale, Color color, Color shadow, boolean glow) {
+        textProbe.set(text, scale, color.getRGB(), shadow, glow);
+        BufferedImage image = texts.get(textProbe);
+        if (image == null) {
+            image = renderText(g2d.getDeviceConfiguration(), text, scale, color, shadow, glow);
+            TextKey key = new TextKey();
+            key.set(text, scale, color.getRGB(), shadow, glow);
+            texts.put(key, image);
+        }
+        if (image != BLANK) {
+            int margin = glow ? scale : 0;
+            g2d.drawImage(image, x - margin, y - margin, null);
+        }
+    }
+    
+    private BufferedImage renderText(GraphicsConfiguration config, String text, int scale, Color color, Color shadow, boolean glow) {
+        if (!hasVisibleChar(text)) {
+            return BLANK;
+        }
+        // Schatten ragt um scale nach rechts unten, Glow um scale in alle Richtungen
+        int margin = glow ? scale : 0;
+        int width = RetroFont.getTextWidth(text, scale) + scale + 2 * margin;
+        int height = RetroFont.getTextHeight(scale) + scale + 2 * margin;
+        BufferedImage image = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        if (glow) {
+            Color glowColor = RetroFont.glowColor(color);
+            paintText(g, config, text, 0, 0, scale, glowColor, null);
+            paintText(g, config, text, 2 * scale, 0, scale, glowColor, null);
+            paintText(g, config, text, 0, 2 * scale, scale, glowColor, null);
+            paintText(g, config, text, 2 * scale, 2 * scale, scale, glowColor, null);
+            paintText(g, config, text, scale, scale, scale, color, RetroFont.GLOW_SHADOW);
+        } else {
+            paintText(g, config, text, 0, 0, scale, color, shadow);
+        }
+        g.dispose();
+        return image;
+    }
+    
+    private void paintText(Graphics2D g, GraphicsConfiguration config, String text, int x, int y, int scale, Color color, Color shadow) {
+        int cursorX = x;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (RetroFont.charData(c) != null) {
+                if (shadow != null) {
+                    g.drawImage(glyph(config, c, scale, shadow), cursorX + scale, y + scale, null);
+                }
+                g.drawImage(glyph(config, c, scale, color), cursorX, y, null);
+            }
+            cursorX += (RetroFont.CHAR_WIDTH + 1) * scale;
+        }
+    }
+    
+    private BufferedImage glyph(GraphicsConfiguration config, char c, int scale, Color color) {
+        glyphProbe.set(c, scale, color.getRGB());
+        BufferedImage image = glyphs.get(glyphProbe);
+        if (image == null) {
+            image = config.createCompatibleImage(RetroFont.CHAR_WIDTH * scale, RetroFont.CHAR_HEIGHT * scale, Transparency.TRANSLUCENT);
+            Graphics2D g = image.createGraphics();
+            RetroFont.drawChar(g, RetroFont.charData(c), 0, 0, scale, color);
+            g.dispose();
+            GlyphKey key = new GlyphKey();
+            key.set(c, scale, color.getRGB());
+            glyphs.put(key, image);
+        }
+        return image;
+    }
+    
+    private static boolean hasVisibleChar(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            int[][] charData = RetroFont.charData(text.charAt(i));
+            if (charData == null) {
+                continue;
+            }
+            for (int[] row : charData) {
+                for (int pixel : row) {
+                    if (pixel == 1) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
+    synchronized int size() {
+        return texts.size();
+    }
+    
+    synchronized void clear() {
+        glyphs.clear();
+        texts.clear();
+    }
+    
+    /**
+     * Schlüssel (Zeichen, Größe, Farbe) - als wiederverwendbare Probe
+     */
+    private static final class GlyphKey {
+        private char c;
+        private int scale;
+        private int rgb;
+        
+        void set(char c, int scale, int rgb) {
+            this.c = c;
+            this.scale = scale;
+            this.rgb = rgb;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GlyphKey)) {
+                return false;
+            }
+            GlyphKey other = (GlyphKey) o;
+            return c == other.c && scale == other.scale && rgb == other.rgb;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (c * 31 + scale) * 31 + rgb;
+        }
+    }
+    
+    /**
+     * Schlüssel (Text, Größe, Farbe, Schatten, Glow) - als wiederverwendbare Probe
+     */
+    private static final class TextKey {
+        private String text;
+        private int scale;
+        private int rgb;
+        private boolean hasShadow;
+        private int shadowRgb;
+        private boolean glow;
+        
+        void set(String text, int scale, int rgb, Color shadow, boolean glow) {
+            this.text = text;
+            this.scale = scale;
+            this.rgb = rgb;
+            this.hasShadow = shadow != null;
+            this.shadowRgb = shadow != null ? shadow.getRGB() : 0;
+            this.glow = glow;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TextKey)) {
+                return false;
+            }
+            TextKey other = (TextKey) o;
+            return text.equals(other.text) && scale == other.scale && rgb == other.rgb
+                && hasShadow == other.hasShadow && shadowRgb == other.shadowRgb && glow == other.glow;
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = text.hashCode();
+            hash = hash * 31 + scale;
+            hash = hash * 31 + rgb;
+            hash = hash * 31 + shadowRgb;
+            return hash * 4 + (hasShadow ? 2 : 0) + (glow ? 1 : 0);
+        }
+    }
+}
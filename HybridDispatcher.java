@@ -0,0 +1,52 @@
+package events;
+
+import java.util.List;
+
+/**
+ * HybridDispatcher - Verteilt Zustellungen nach Art des Handlers
+ * Blockierende Subscriptions gehen an eine eigene Engine (z.B. virtuelle
+ * Threads), alle übrigen an die Engine für CPU-lastige Handler.
+ */
+public class HybridDispatcher implements EventDispatcher {
+    private final EventDispatcher cpuDispatcher;
+    private final EventDispatcher blockingDispatcher;
+    
+    public HybridDispatcher(EventDispatcher cpuDispatcher, EventDispatcher blockingDispatcher) {
+        this.cpuDispatcher = cpuDispatcher;
+        this.blockingDispatcher = blockingDispatcher;
+    }
+    
+    @Override
+    public void dispatch(Subscription subscription, GameEvent event) {
+        if (subscription.isBlocking()) {
+            blockingDispatcher.dispatch(subscription, event);
+        } else {
+            cpuDispatcher.dispatch(subscription, event);
+        }
+    }
+    
+    @Override
+    public void dispatchBatch(Subscription subscription, List<GameEvent> events) {
+        if (subscription.isBlocking()) {
+            blockingDispatcher.dispatchBatch(subscription, events);
+        } else {
+            cpuDispatcher.dispatchBatch(subscription, events);
+        }
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        return cpuDispatcher.getQueueDepth() + blockingDispatcher.getQueueDepth();
+    }
+    
+    @Override
+    public long getDroppedCount() {
+        return cpuDispatcher.getDroppedCount() + blockingDispatcher.getDroppedCount();
+    }
+    
+    @Override
+    public void shutdown() {
+        cpuDispatcher.shutdown();
+        blockingDispatcher.shutdown();
+    }
+}
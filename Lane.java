@@ -0,0 +1,259 @@
+package events;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lane - Begrenzte FIFO-Warteschlange mit serieller Abarbeitung
+ * 
+ * Eine Lane läuft nie auf zwei Threads gleichzeitig: sie wird beim
+ * Übergang leer -> nicht leer auf dem Executor eingeplant und arbeitet
+ * danach bis zu BATCH_SIZE Einträge ab, bevor sie sich neu einplant.
+ * So sehen Handler ihre Events in Reihenfolge, während verschiedene
+ * Lanes parallel auf allen Kernen laufen.
+ * 
+ * Eingeplant wird unter dem Lock und vor dem Einreihen: lehnt der
+ * Executor ab (beendet), bleibt das Event beim Aufrufer. Verworfene
+ * Einträge gehen über Subscription.discard(), damit Coalescing- und
+ * Batch-Subscriptions danach wieder einplanen.
+ */
+class Lane implements Runnable {
+    private static final int BATCH_SIZE = 64;
+    
+    private final Executor executor;
+    private final OverflowPolicy policy;
+    private final AtomicLong droppedCounter;
+    private final Subscription[] subscriptions;
+    private final GameEvent[] events;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ForkJoinPool.ManagedBlocker notFullBlocker = new NotFullBlocker();
+    private int head;
+    private int count;
+    private volatile Thread worker;
+    
+    Lane(Executor executor, int capacity, OverflowPolicy policy, AtomicLong droppedCounter) {
+        this.executor = executor;
+        this.policy = policy;
+        this.droppedCounter = droppedCounter;
+        this.subscriptions = new Subscription[capacity];
+        this.events = new GameEvent[capacity];
+    }
+    
+    /**
+     * @throws RejectedExecutionException wenn der Executor beendet ist -
+     *         das Event wurde dann nicht übernommen
+     */
+    void offer(Subscription subscription, GameEvent event) {
+        lock.lock();
+        try {
+            schedule();
+            enqueue(subscription, event);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Reiht mehrere Events unter einer Lock-Übernahme ein und plant
+     * die Lane nur einmal ein
+     */
+    void offerAll(Subscription subscription, List<GameEvent> batch) {
+        lock.lock();
+        try {
+            schedule();
+            for (GameEvent event : batch) {
+                enqueue(subscription, event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void enqueue(Subscription subscription, GameEvent event) {
+        if (count == events.length) {
+            handleOverflow(subscription, event);
+        } else {
+            append(subscription, event);
+        }
+    }
+    
+    private void handleOverflow(Subscription subscription, GameEvent event) {
+        if (policy == OverflowPolicy.COALESCE && replaceNewest(subscription, event)) {
+            droppedCounter.incrementAndGet();
+            return;
+        }
+        // Aus dem eigenen Handler heraus würde BLOCK sich selbst blockieren
+        if (policy == OverflowPolicy.BLOCK && Thread.currentThread() != worker && awaitNotFull()) {
+            append(subscription, event);
+            // Während des Wartens kann die Lane leergelaufen und ausgeplant sein
+            reschedule();
+            return;
+        }
+        subscriptions[head].discard(events[head]);
+        removeHead();
+        droppedCounter.incrementAndGet();
+        append(subscription, event);
+    }
+    
+    /**
+     * Wartet auf Platz. Über managedBlock, damit ein blockierter
+     * ForkJoin-Worker ersetzt wird - sonst könnten alle Worker auf Lanes
+     * warten, die nur sie selbst abarbeiten.
+     * @return false, wenn der Pool keinen Ersatz-Thread mehr stellt
+     */
+    private boolean awaitNotFull() {
+        try {
+            ForkJoinPool.managedBlock(notFullBlocker);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return count < events.length;
+        }
+    }
+    
+    /**
+     * Ersetzt das jüngste wartende Event derselben Subscription. Nicht für
+     * Coalescing- und Batch-Subscriptions: deren Eintrag ist nur der
+     * Auslöser der Zustellung, die Events liegen in der Subscription.
+     */
+    private boolean replaceNewest(Subscription subscription, GameEvent event) {
+        if (subscription.isCoalescing() || subscription.isBatch()) {
+            return false;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            int index = (head + i) % events.length;
+            if (subscriptions[index] == subscription && events[index].getType().equals(event.getType())) {
+                events[index].release();
+                events[index] = event;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void append(Subscription subscription, GameEvent event) {
+        int tail = (head + count) % events.length;
+        subscriptions[tail] = subscription;
+        events[tail] = event;
+        count++;
+    }
+    
+    private void removeHead() {
+        subscriptions[head] = null;
+        events[head] = null;
+        head = (head + 1) % events.length;
+        count--;
+    }
+    
+    /**
+     * Plant die Lane ein, falls sie nicht schon läuft (nur unter dem Lock)
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Plant eine nicht leere Lane erneut ein. Die Einträge gehören hier
+     * schon der Lane - lehnt der Executor ab, werden sie verworfen.
+     */
+    private void reschedule() {
+        if (count > 0) {
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                discardAll();
+            }
+        }
+    }
+    
+    /**
+     * Verwirft alle wartenden Einträge - der Executor ist beendet und
+     * würde sie nie mehr abarbeiten
+     */
+    private void discardAll() {
+        while (count > 0) {
+            subscriptions[head].discard(events[head]);
+            removeHead();
+            droppedCounter.incrementAndGet();
+        }
+        notFull.signalAll();
+    }
+    
+    @Override
+    public void run() {
+        worker = Thread.currentThread();
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Subscription subscription;
+                GameEvent event;
+                lock.lock();
+                try {
+                    if (count == 0) {
+                        break;
+                    }
+                    subscription = subscriptions[head];
+                    event = events[head];
+                    removeHead();
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+                subscription.deliverSafely(event);
+            }
+        } finally {
+            worker = null;
+            scheduled.set(false);
+        }
+        // Nachzügler, die während des Abarbeitens kamen, nicht verlieren
+        lock.lock();
+        try {
+            reschedule();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int depth() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Blockiert, bis die Lane nicht mehr voll ist (Lock wird gehalten)
+     */
+    private final class NotFullBlocker implements ForkJoinPool.ManagedBlocker {
+        @Override
+        public boolean block() {
+            while (count == events.length) {
+                notFull.awaitUninterruptibly();
+            }
+            return true;
+        }
+        
+        @Override
+        public boolean isReleasable() {
+            return count < events.length;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package events;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LaneDispatcher - Geordnete Zustellung über eigene Lanes
+ * 
+ * Jede Subscription (bzw. jeder Event-Typ) erhält eine eigene begrenzte
+ * Lane. Innerhalb einer Lane gilt FIFO, ein langsamer Handler hält nur
+ * seine eigene Lane auf. Die Lanes teilen sich einen Work-Stealing-Pool
+ * über alle Kerne.
+ */
+public class LaneDispatcher implements EventDispatcher {
+    
+    public enum Sharding {
+        /** Eine Lane pro Subscription */
+        PER_SUBSCRIBER,
+        /** Eine Lane pro Event-Typ - alle Handler eines Typs seriell */
+        PER_EVENT_TYPE
+    }
+    
+    private final ExecutorService executor;
+    private final Sharding sharding;
+    private final int laneCapacity;
+    private final OverflowPolicy policy;
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    
+    public LaneDispatcher(int laneCapacity, OverflowPolicy policy) {
+        this(Executors.newWorkStealingPool(), Sharding.PER_SUBSCRIBER, laneCapacity, policy);
+    }
+    
+    public LaneDispatcher(ExecutorService executor, Sharding sharding, int laneCapacity, OverflowPolicy policy) {
+        this.executor = executor;
+        this.sharding = sharding;
+        this.laneCapacity = laneCapacity;
+        this.policy = policy;
+    }
+    
+    @Override
+    public void dispatch(Subscription subscription, GameEvent event) {
+        laneFor(subscription).offer(subscription, event);
+    }
+    
+    @Override
+    public void dispatchBatch(Subscription subscription, List<GameEvent> events) {
+        laneFor(subscription).offerAll(subscription, events);
+    }
+    
+    private Lane laneFor(Subscription subscription) {
+        Object key = sharding == Sharding.PER_SUBSCRIBER ? subscription : subscription.getEventType();
+        Lane lane = lanes.get(key);
+        if (lane == null) {
+            lane = lanes.computeIfAbsent(key, k -> new Lane(executor, laneCapacity, policy, dropped));
+        }
+        return lane;
+    }
+    
+    /**
+     * Anzahl verworfener bzw. ersetzter Events (DROP_OLDEST, COALESCE)
+     */
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * Summe aller wartenden Events über alle Lanes
+     */
+    @Override
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes.values()) {
+            depth += lane.depth();
+        }
+        return depth;
+    }
+    
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
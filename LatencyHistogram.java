@@ -0,0 +1,97 @@
+package events;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram - Allokationsfreies Latenz-Histogramm (HdrHistogram-Stil)
+ * 
+ * Log-lineare Buckets: pro Zweierpotenz 32 lineare Unter-Buckets, also
+ * höchstens ~3% relativer Fehler. Werte in Nanosekunden bis ~68s, größere
+ * werden im letzten Bucket gezählt. record() ist ein einzelnes atomares
+ * Inkrement und kann aus mehreren Threads aufgerufen werden.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_BITS = 36;
+    private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+    private static final int BUCKETS = (MAX_BITS - SUB_BITS + 1) * SUB_COUNT;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(0, Math.min(nanos, MAX_VALUE))));
+    }
+    
+    /**
+     * Addiert alle Messwerte eines anderen Histogramms (z.B. für eine
+     * Gesamtsicht über mehrere Subscriptions oder Busse)
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int exponent = msb - SUB_BITS + 1;
+        int mantissa = (int) (value >>> (msb - SUB_BITS));
+        return exponent * SUB_COUNT + mantissa - SUB_COUNT;
+    }
+    
+    /**
+     * Untere Grenze des Buckets in Nanosekunden
+     */
+    static long valueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT;
+        long mantissa = index % SUB_COUNT + SUB_COUNT;
+        return mantissa << (exponent - 1);
+    }
+    
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+    
+    /**
+     * @param percentile 0..100
+     * @return Latenz in Nanosekunden (0 ohne Messwerte)
+     */
+    public long getPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return valueOf(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+    
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return valueOf(i);
+            }
+        }
+        return 0;
+    }
+}
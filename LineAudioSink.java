@@ -0,0 +1,41 @@
+package audio;
+
+import javax.sound.sampled.*;
+
+/**
+ * LineAudioSink - Ausgabe über eine einzige, dauerhaft offene SourceDataLine
+ * 
+ * Die Line wird einmal geöffnet und bleibt bis close() gestartet. Ihr
+ * Puffer ist klein gehalten: er bestimmt die Latenz zwischen playSound()
+ * und hörbarem Ton.
+ */
+public class LineAudioSink implements AudioSink {
+    private final SourceDataLine line;
+    
+    private LineAudioSink(SourceDataLine line) {
+        this.line = line;
+    }
+    
+    /**
+     * @param bufferBytes Größe des Line-Puffers in Bytes
+     * @throws LineUnavailableException wenn keine Ausgabe verfügbar ist
+     */
+    public static LineAudioSink open(AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        SourceDataLine line = AudioSystem.getSourceDataLine(format);
+        line.open(format, bufferBytes);
+        line.start();
+        return new LineAudioSink(line);
+    }
+    
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+        line.write(buffer, offset, length);
+    }
+    
+    @Override
+    public void close() {
+        line.stop();
+        line.flush();
+        line.close();
+    }
+}
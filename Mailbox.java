@@ -0,0 +1,78 @@
+package server;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mailbox - Begrenzte Auftragswarteschlange einer Spielsitzung (Actor-Stil)
+ * 
+ * Wie eine Lane des EventBus: die Mailbox wird beim Übergang leer ->
+ * nicht leer auf dem gemeinsamen Executor eingeplant und arbeitet danach
+ * bis zu BATCH_SIZE Aufträge ab, bevor sie sich neu einplant. Aufträge
+ * einer Sitzung laufen so nie gleichzeitig und in Reihenfolge, ohne dass
+ * die Sitzung einen eigenen Thread braucht; verschiedene Sitzungen laufen
+ * parallel auf allen Kernen.
+ */
+final class Mailbox implements Runnable {
+    private static final int BATCH_SIZE = 64;
+    
+    private final Executor executor;
+    private final int capacity;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    
+    Mailbox(Executor executor, int capacity) {
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+    
+    /**
+     * @return false, wenn die Mailbox voll ist (Auftrag verworfen)
+     */
+    boolean post(Runnable task) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            return false;
+        }
+        tasks.offer(task);
+        schedule();
+        return true;
+    }
+    
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+    
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                pending.decrementAndGet();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("[Mailbox] Auftrag fehlgeschlagen: " + e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // Nachzügler, die während des Abarbeitens kamen, nicht verlieren
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+    
+    int depth() {
+        return pending.get();
+    }
+}
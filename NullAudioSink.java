@@ -0,0 +1,66 @@
+package audio;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * NullAudioSink - Verwirft die Samples, z.B. ohne Soundkarte oder im Test
+ * 
+ * Im Echtzeit-Modus blockiert write() so lange, wie die Samples beim
+ * Abspielen dauern würden - der Mixer läuft dann im selben Takt wie mit
+ * einer echten Line. Gezählt werden geschriebene Frames und der höchste
+ * Pegel, damit sich der Mixer ohne Audio-Hardware prüfen lässt.
+ */
+public class NullAudioSink implements AudioSink {
+    private final boolean realtime;
+    private final double nanosPerFrame;
+    private volatile long framesWritten;
+    private volatile int peak;
+    private long nextWrite;
+    
+    public NullAudioSink(boolean realtime) {
+        this.realtime = realtime;
+        this.nanosPerFrame = 1e9 / SoundBank.SAMPLE_RATE;
+    }
+    
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+        int max = peak;
+        for (int i = offset; i < offset + length; i++) {
+            max = Math.max(max, Math.abs(buffer[i]));
+        }
+        peak = max;
+        framesWritten += length;
+        
+        if (realtime) {
+            long now = System.nanoTime();
+            if (nextWrite == 0 || now - nextWrite > 100_000_000) {
+                // Erster Aufruf oder lange Pause: Takt neu ansetzen statt aufzuholen
+                nextWrite = now;
+            }
+            nextWrite += (long) (length * nanosPerFrame);
+            long wait = nextWrite - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+    }
+    
+    public long getFramesWritten() {
+        return framesWritten;
+    }
+    
+    /**
+     * @return Höchster Betrag eines Samples seit dem letzten resetPeak()
+     */
+    public int getPeak() {
+        return peak;
+    }
+    
+    public void resetPeak() {
+        peak = 0;
+    }
+}
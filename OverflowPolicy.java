@@ -0,0 +1,13 @@
+package events;
+
+/**
+ * OverflowPolicy - Verhalten einer vollen Zustell-Lane
+ */
+public enum OverflowPolicy {
+    /** Publisher wartet, bis wieder Platz ist */
+    BLOCK,
+    /** Ältestes wartendes Event wird verworfen */
+    DROP_OLDEST,
+    /** Jüngstes wartendes Event desselben Typs wird ersetzt, sonst DROP_OLDEST */
+    COALESCE
+}
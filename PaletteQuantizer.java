@@ -0,0 +1,205 @@
+package rendering;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * PaletteQuantizer - Farbreduktion auf die 8-bit Palette per Lookup-Table
+ * 
+ * Beim Laden der Klasse wird für jede der 32x32x32 RGB-Zellen (5 Bit pro
+ * Kanal) der nächstliegende Paletteneintrag bestimmt. Danach ist jede
+ * Quantisierung ein Array-Zugriff statt 22 Abstandsberechnungen.
+ * 
+ * Die Bereiche gleicher nächster Palettenfarbe sind konvex: stimmen alle
+ * acht Ecken einer Zelle überein, gilt das für die ganze Zelle. Zellen
+ * auf einer Grenze verweisen auf eine kurze Kandidatenliste (meist 2-3
+ * Einträge), unter denen exakt verglichen wird - das Ergebnis bleibt
+ * identisch zur linearen Suche über die ganze Palette.
+ */
+public final class PaletteQuantizer {
+    private static final int BITS = 5;
+    private static final int LEVELS = 1 << BITS;
+    
+    // Zelle (r5 << 10 | g5 << 5 | b5) -> Palettenindex, oder für
+    // Grenzzellen ~Offset in CANDIDATES (Anzahl, dann die Indizes)
+    private static final short[] LOOKUP = new short[LEVELS * LEVELS * LEVELS];
+    private static byte[] CANDIDATES = new byte[1024];
+    private static int candidateCount;
+    private static final int[] PALETTE_RGB = new int[Retro3DRenderer.PALETTE.length];
+    
+    // Geordnetes Dithering: 4x4 Bayer-Matrix als Helligkeits-Offsets
+    private static final int[] BAYER_4X4 = {
+         0,  8,  2, 10,
+        12,  4, 14,  6,
+         3, 11,  1,  9,
+        15,  7, 13,  5
+    };
+    private static final int DITHER_SPREAD = 48;
+    private static final int[] DITHER_OFFSETS = new int[16];
+    
+    static {
+        Color[] palette = Retro3DRenderer.PALETTE;
+        for (int i = 0; i < palette.length; i++) {
+            PALETTE_RGB[i] = palette[i].getRGB();
+        }
+        for (int cell = 0; cell < LOOKUP.length; cell++) {
+            int r = ((cell >> 10) & 0x1F) << 3;
+            int g = ((cell >> 5) & 0x1F) << 3;
+            int b = (cell & 0x1F) << 3;
+            LOOKUP[cell] = classifyCell(r, g, b);
+        }
+        for (int i = 0; i < 16; i++) {
+            DITHER_OFFSETS[i] = (BAYER_4X4[i] * 2 - 15) * DITHER_SPREAD / 32;
+        }
+    }
+    
+    private PaletteQuantizer() {
+    }
+    
+    private static short classifyCell(int r, int g, int b) {
+        int index = nearest(r, g, b);
+        for (int corner = 1; corner < 8; corner++) {
+            int cr = r + ((corner & 4) != 0 ? 7 : 0);
+            int cg = g + ((corner & 2) != 0 ? 7 : 0);
+            int cb = b + ((corner & 1) != 0 ? 7 : 0);
+            if (nearest(cr, cg, cb) != index) {
+                return (short) ~addCandidates(r, g, b);
+            }
+        }
+        return (short) index;
+    }
+    
+    /**
+     * Alle Einträge, die irgendwo in der Zelle am nächsten liegen können:
+     * minimaler Abstand zur Zelle <= kleinster maximaler Abstand
+     * @return Offset der Liste in CANDIDATES
+     */
+    private static int addCandidates(int r, int g, int b) {
+        int bound = Integer.MAX_VALUE;
+        for (int rgb : PALETTE_RGB) {
+            bound = Math.min(bound, cellDistance(rgb, r, g, b, true));
+        }
+        int offset = candidateCount;
+        if (CANDIDATES.length < offset + PALETTE_RGB.length + 1) {
+            CANDIDATES = Arrays.copyOf(CANDIDATES, CANDIDATES.length * 2);
+        }
+        int n = 0;
+        for (int i = 0; i < PALETTE_RGB.length; i++) {
+            if (cellDistance(PALETTE_RGB[i], r, g, b, false) <= bound) {
+                CANDIDATES[offset + 1 + n++] = (byte) i;
+            }
+        }
+        CANDIDATES[offset] = (byte) n;
+        candidateCount = offset + 1 + n;
+        return offset;
+    }
+    
+    /**
+     * Quadrierter minimaler bzw. maximaler Abstand einer Farbe zur Zelle
+     */
+    private static int cellDistance(int rgb, int r, int g, int b, boolean farthest) {
+        int distance = 0;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int value = (rgb >> shift) & 0xFF;
+            int low = shift == 16 ? r : shift == 8 ? g : b;
+            int high = low + 7;
+            int d = farthest ? Math.max(Math.abs(value - low), Math.abs(value - high))
+                             : Math.max(0, Math.max(low - value, value - high));
+            distance += d * d;
+        }
+        return distance;
+    }
+    
+    private static int nearest(int r, int g, int b) {
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < PALETTE_RGB.length; i++) {
+            int dr = r - ((PALETTE_RGB[i] >> 16) & 0xFF);
+            int dg = g - ((PALETTE_RGB[i] >> 8) & 0xFF);
+            int db = b - (PALETTE_RGB[i] & 0xFF);
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Palettenindex einer RGB-Farbe (Alpha wird ignoriert)
+     */
+    public static int indexOf(int rgb) {
+        int entry = LOOKUP[(rgb >> 9 & 0x7C00) | (rgb >> 6 & 0x03E0) | (rgb >> 3 & 0x001F)];
+        if (entry >= 0) {
+            return entry;
+        }
+        // Grenzzelle: nur unter den Kandidaten vergleichen
+        int offset = ~entry;
+        int r = (rgb >> 16) & 0xFF, g = (rgb >> 8) & 0xFF, b = rgb & 0xFF;
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int n = CANDIDATES[offset]; n > 0; n--) {
+            int index = CANDIDATES[++offset];
+            int candidate = PALETTE_RGB[index];
+            int dr = r - ((candidate >> 16) & 0xFF);
+            int dg = g - ((candidate >> 8) & 0xFF);
+            int db = b - (candidate & 0xFF);
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = index;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Nächste Palettenfarbe als deckendes ARGB
+     */
+    public static int quantize(int rgb) {
+        return PALETTE_RGB[indexOf(rgb)];
+    }
+    
+    /**
+     * Quantisiert einen Bildbereich eines ARGB-Buffers in place
+     * @param dither geordnetes Bayer-Dithering für weichere Verläufe
+     */
+    public static void quantize(int[] pixels, int stride, int x0, int y0, int x1, int y1, boolean dither) {
+        for (int y = y0; y < y1; y++) {
+            int row = y * stride;
+            int bayerRow = (y & 3) << 2;
+            for (int x = x0; x < x1; x++) {
+                int rgb = pixels[row + x];
+                if (dither) {
+                    int offset = DITHER_OFFSETS[bayerRow | (x & 3)];
+                    rgb = clamp(((rgb >> 16) & 0xFF) + offset) << 16
+                        | clamp(((rgb >> 8) & 0xFF) + offset) << 8
+                        | clamp((rgb & 0xFF) + offset);
+                }
+                pixels[row + x] = PALETTE_RGB[indexOf(rgb)];
+            }
+        }
+    }
+    
+    /**
+     * Quantisiert einen kompletten Buffer in place
+     */
+    public static void quantize(int[] pixels, int width, int height, boolean dither) {
+        quantize(pixels, width, 0, 0, width, height, dither);
+    }
+    
+    private static int clamp(int channel) {
+        return channel < 0 ? 0 : channel > 255 ? 255 : channel;
+    }
+    
+    /**
+     * Lineare Mischung zweier RGB-Farben ohne Color-Objekte
+     */
+    static int blend(int rgb1, int rgb2, double ratio) {
+        int r = (int) (((rgb1 >> 16) & 0xFF) * (1 - ratio) + ((rgb2 >> 16) & 0xFF) * ratio);
+        int g = (int) (((rgb1 >> 8) & 0xFF) * (1 - ratio) + ((rgb2 >> 8) & 0xFF) * ratio);
+        int b = (int) ((rgb1 & 0xFF) * (1 - ratio) + (rgb2 & 0xFF) * ratio);
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+}
@@ -0,0 +1,286 @@
+package bench;
+
+import events.*;
+import rendering.Retro3DRenderer;
+import services.RenderService;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * RenderBenchmark - Frame-Zeiten des Renderers ohne Fenster
+ * 
+ * Läuft mit java.awt.headless=true: RenderService bzw. Retro3DRenderer
+ * zeichnen in ein BufferedImage. Gemessen werden die Spielszenen aller
+ * vier Rechenarten auf steigenden Levels (aufgebaut über NEW_TASK wie im
+ * Spiel) und synthetische Szenen mit wachsender Voxel-Anzahl, jeweils
+ * mit jeder Render-Variante:
+ * - direct:   GRAPHICS2D, jede Würfelseite einzeln (Referenz)
+ * - sprites:  GRAPHICS2D mit SpriteCache
+ * - software: SoftwareRasterizer
+ * 
+ * Pro Szene: fps, Allokationsrate aller Threads, p50/p99 der Frame-Zeit
+ * und CRC32 des letzten Frames. Der Ablauf ist deterministisch, gleiche
+ * Checksummen bedeuten also pixelgleiche Ausgabe.
+ * 
+ * Aufruf: java bench.RenderBenchmark [direct,sprites,software] [--frames=N]
+ *         [--write-golden=DATEI | --golden=DATEI]
+ * Mit --golden wird jede Variante gegen die gespeicherten Checksummen
+ * geprüft; Abweichungen werden gelistet, Exit-Code 1.
+ */
+public class RenderBenchmark {
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 500;
+    private static final int WARMUP_FRAMES = 30;
+    private static final int[] LEVELS = {1, 5, 10};
+    private static final String[] OPERATORS = {"+", "-", "×", "÷"};
+    private static final int[] STRESS_VOXELS = {250, 1000, 4000};
+    
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_NUM1 = TASK_SCHEMA.intSlot("num1");
+    private static final int SLOT_NUM2 = TASK_SCHEMA.intSlot("num2");
+    private static final int SLOT_RESULT = TASK_SCHEMA.intSlot("result");
+    private static final int SLOT_OPERATOR = TASK_SCHEMA.refSlot("operator");
+    
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        
+        List<String> variants = Arrays.asList("direct", "sprites", "software");
+        int frames = 200;
+        Path writeGolden = null;
+        Path golden = null;
+        for (String arg : args) {
+            if (arg.startsWith("--frames=")) {
+                frames = Integer.parseInt(arg.substring("--frames=".length()));
+            } else if (arg.startsWith("--write-golden=")) {
+                writeGolden = Paths.get(arg.substring("--write-golden=".length()));
+            } else if (arg.startsWith("--golden=")) {
+                golden = Paths.get(arg.substring("--golden=".length()));
+            } else {
+                variants = Arrays.asList(arg.split(","));
+            }
+        }
+        Map<String, Long> expected = golden != null ? readGolden(golden) : null;
+        
+        Map<String, Long> checksums = new LinkedHashMap<>();
+        List<String> mismatches = new ArrayList<>();
+        for (String variant : variants) {
+            Map<String, Long> results = runVariant(variant, frames);
+            for (Map.Entry<String, Long> result : results.entrySet()) {
+                checksums.putIfAbsent(result.getKey(), result.getValue());
+                Long reference = expected != null ? expected.get(result.getKey()) : null;
+                if (reference != null && !reference.equals(result.getValue())) {
+                    mismatches.add(variant + " " + result.getKey());
+                }
+            }
+        }
+        EventBus.getInstance().shutdown();
+        
+        if (writeGolden != null) {
+            List<String> lines = new ArrayList<>();
+            checksums.forEach((scene, crc) -> lines.add(scene + " " + crc));
+            Files.write(writeGolden, lines);
+            System.out.println("golden written: " + writeGolden + " (" + lines.size() + " scenes, " + variants.get(0) + ")");
+        }
+        if (expected != null) {
+            if (mismatches.isEmpty()) {
+                System.out.println("golden: all checksums match " + golden);
+            } else {
+                System.out.println("golden: " + mismatches.size() + " mismatches " + mismatches);
+                System.exit(1);
+            }
+        }
+    }
+    
+    /**
+     * Alle Szenen mit einer Variante. Jede Variante bekommt einen eigenen
+     * RenderService, damit Rotation und Animation gleich beginnen.
+     * @return Szene -> Checksumme des letzten Frames
+     */
+    private static Map<String, Long> runVariant(String variant, int frames) {
+        Map<String, Long> checksums = new LinkedHashMap<>();
+        EventBus bus = EventBus.getInstance();
+        
+        RenderService renderService = new RenderService(WIDTH, HEIGHT);
+        renderService.start();
+        configure(renderService.getRenderer(), variant);
+        for (int level : LEVELS) {
+            for (String operator : OPERATORS) {
+                bus.publishSync(task(operator, level));
+                Retro3DRenderer renderer = renderService.getRenderer();
+                String scene = sceneName(operator) + "-L" + level;
+                checksums.put(scene, measure(variant, scene, renderer.getVoxelCount(), frames, renderService::render));
+            }
+        }
+        renderService.stop();
+        
+        for (int voxels : STRESS_VOXELS) {
+            Retro3DRenderer renderer = new Retro3DRenderer(WIDTH, HEIGHT);
+            configure(renderer, variant);
+            buildStressScene(renderer, voxels);
+            // Rotation pro Frame, damit keine Ebene den Frame unverändert übernehmen kann
+            double[] angle = {0};
+            String scene = "STRESS-" + voxels;
+            checksums.put(scene, measure(variant, scene, voxels, frames, g2d -> {
+                renderer.setRotation(angle[0] += 0.005);
+                renderer.render(g2d);
+            }));
+        }
+        return checksums;
+    }
+    
+    private static void configure(Retro3DRenderer renderer, String variant) {
+        switch (variant) {
+            case "direct":
+                renderer.setBackend(Retro3DRenderer.Backend.GRAPHICS2D);
+                renderer.setSpriteCaching(false);
+                break;
+            case "sprites":
+                renderer.setBackend(Retro3DRenderer.Backend.GRAPHICS2D);
+                renderer.setSpriteCaching(true);
+                break;
+            case "software":
+                renderer.setBackend(Retro3DRenderer.Backend.SOFTWARE);
+                break;
+            default:
+                throw new IllegalArgumentException("Unbekannte Variante: " + variant);
+        }
+    }
+    
+    private interface Frame {
+        void render(Graphics2D g2d);
+    }
+    
+    private static long measure(String variant, String scene, int voxels, int frames, Frame frame) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            draw(image, frame);
+        }
+        
+        long[] times = new long[frames];
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            long frameStart = System.nanoTime();
+            draw(image, frame);
+            times[i] = System.nanoTime() - frameStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        Arrays.sort(times);
+        
+        long crc = checksum(image);
+        System.out.printf("variant=%s scene=%s voxels=%d fps=%.0f p50=%dus p99=%dus alloc=%.1fMB/s crc=%d%n",
+            variant, scene, voxels, frames / (elapsed / 1e9),
+            times[frames / 2] / 1000, times[(int) (frames * 0.99)] / 1000,
+            allocated / (elapsed / 1e9) / (1024 * 1024), crc);
+        return crc;
+    }
+    
+    private static void draw(BufferedImage image, Frame frame) {
+        Graphics2D g2d = image.createGraphics();
+        try {
+            frame.render(g2d);
+        } finally {
+            g2d.dispose();
+        }
+    }
+    
+    /**
+     * Aufgabe wie TaskService.generateNewTask, aber mit festen Zahlen:
+     * jeweils das Maximum des Zahlenbereichs für das Level
+     */
+    private static GameEvent task(String operator, int level) {
+        int maxNum = 10 + (level - 1) * 5;
+        int num1, num2, result;
+        switch (operator) {
+            case "-":
+                num1 = maxNum;
+                num2 = maxNum / 2;
+                result = num1 - num2;
+                break;
+            case "×":
+                num1 = Math.min(12, maxNum);
+                num2 = Math.min(12, maxNum);
+                result = num1 * num2;
+                break;
+            case "÷":
+                num2 = Math.min(10, maxNum);
+                result = Math.min(10, maxNum);
+                num1 = num2 * result;
+                break;
+            default:
+                num1 = maxNum;
+                num2 = maxNum;
+                result = num1 + num2;
+        }
+        return EventBus.getInstance().obtain(GameEvent.NEW_TASK)
+            .setInt(SLOT_NUM1, num1)
+            .setInt(SLOT_NUM2, num2)
+            .setInt(SLOT_RESULT, result)
+            .setRef(SLOT_OPERATOR, operator);
+    }
+    
+    private static String sceneName(String operator) {
+        switch (operator) {
+            case "-": return "SUB";
+            case "×": return "MUL";
+            case "÷": return "DIV";
+            default: return "ADD";
+        }
+    }
+    
+    /**
+     * Gitter aus Voxel-Säulen mit Farbmuster, deterministisch
+     */
+    private static void buildStressScene(Retro3DRenderer renderer, int voxels) {
+        int side = (int) Math.ceil(Math.sqrt(voxels / 4.0));
+        for (int i = 0; i < voxels; i++) {
+            int column = i / 4;
+            int x = (column % side - side / 2) * 14;
+            int z = (column / side - side / 2) * 14;
+            renderer.addVoxel(x, (i % 4) * 12, z, 12, (column * 7 + i) % Retro3DRenderer.PALETTE.length);
+        }
+    }
+    
+    private static long checksum(BufferedImage image) {
+        CRC32 crc = new CRC32();
+        for (int pixel : ((DataBufferInt) image.getRaster().getDataBuffer()).getData()) {
+            crc.update(pixel >> 24);
+            crc.update(pixel >> 16);
+            crc.update(pixel >> 8);
+            crc.update(pixel);
+        }
+        return crc.getValue();
+    }
+    
+    /**
+     * Summe der allokierten Bytes aller lebenden Threads (inkl. ForkJoinPool)
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, bytes);
+        }
+        return total;
+    }
+    
+    private static Map<String, Long> readGolden(Path path) throws IOException {
+        Map<String, Long> checksums = new HashMap<>();
+        for (String line : Files.readAllLines(path)) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length == 2) {
+                checksums.put(parts[0], Long.parseLong(parts[1]));
+            }
+        }
+        return checksums;
+    }
+}
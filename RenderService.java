@@ -0,0 +1,304 @@
+package services;
+
+import core.Service;
+import events.*;
+import rendering.Retro3DRenderer;
+import rendering.VoxelScene;
+import java.awt.Graphics2D;
+import java.util.Random;
+
+/**
+ * RenderService - Microservice für das 3D-Voxel-Rendering
+ * Baut zu jeder Aufgabe eine Szene, die die Rechnung veranschaulicht
+ * 
+ * Szenen entstehen in einer VoxelScene und werden mit setScene() an den
+ * Render-Thread übergeben. Bringt das NEW_TASK-Event schon eine fertige
+ * Szene mit (vorbereitet von der TaskPipeline), entfällt der Aufbau.
+ * 
+ * Die Event-Handler laufen nicht auf dem Render-Thread, update() schon
+ * (GameLoop bzw. Swing-Timer) - der geteilte Zustand ist daher volatile.
+ */
+public class RenderService implements Service {
+    private final EventBus eventBus;
+    private final Retro3DRenderer renderer;
+    private boolean running;
+    
+    // Aktuelle Aufgabe
+    private int num1, num2;
+    private String operator;
+    
+    // Animation
+    private volatile double rotation = 0;
+    private volatile double targetRotation = 0;
+    private volatile boolean animating = false;
+    private volatile String animationType = "";
+    private volatile int animationFrame = 0;
+    private final Random random = new Random();
+    
+    // Farben je Rechenart (Palettenindex)
+    private static final int COLOR_ADDITION = 6;
+    private static final int COLOR_SUBTRACTION = 12;
+    private static final int COLOR_MULTIPLICATION = 9;
+    private static final int COLOR_DIVISION = 15;
+    
+    // Slots des NEW_TASK-Events
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_NUM1 = TASK_SCHEMA.intSlot("num1");
+    private static final int SLOT_NUM2 = TASK_SCHEMA.intSlot("num2");
+    private static final int SLOT_OPERATOR = TASK_SCHEMA.refSlot("operator");
+    private static final int SLOT_SCENE = TASK_SCHEMA.refSlot("scene");
+    
+    public RenderService(int width, int height) {
+        this.eventBus = EventBus.getInstance();
+        this.renderer = new Retro3DRenderer(width, height);
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        
+        eventBus.subscribe(GameEvent.NEW_TASK, this::onNewTask);
+        eventBus.subscribe("ANIMATION_START", this::onAnimationStart);
+        eventBus.subscribe(GameEvent.ANSWER_CORRECT, e -> startAnimation("success"));
+        eventBus.subscribe(GameEvent.ANSWER_WRONG, e -> startAnimation("shake"));
+        
+        System.out.println("[RenderService] Started");
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        System.out.println("[RenderService] Stopped");
+    }
+    
+    @Override
+    public String getName() {
+        return "RenderService";
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private void onNewTask(GameEvent event) {
+        num1 = event.getInt(SLOT_NUM1);
+        num2 = event.getInt(SLOT_NUM2);
+        operator = event.getRef(SLOT_OPERATOR);
+        targetRotation = rotation + Math.PI / 8;
+        
+        // Vorbereitete Szene ist ohne Animationsversatz gebaut - läuft gerade
+        // eine Animation, wird wie bisher neu aufgebaut
+        VoxelScene scene = event.getRef(SLOT_SCENE);
+        if (scene != null && !animating) {
+            renderer.setScene(scene);
+        } else {
+            buildScene();
+        }
+    }
+    
+    private void onAnimationStart(GameEvent event) {
+        startAnimation(event.getString("type"));
+    }
+    
+    public void startAnimation(String type) {
+        animationType = type;
+        animationFrame = 0;
+        animating = true;
+    }
+    
+    /**
+     * Einen Animationsschritt weiterrechnen (Rotation, Animationsframe)
+     */
+    public void update() {
+        if (Math.abs(rotation - targetRotation) > 0.01) {
+            rotation += (targetRotation - rotation) * 0.1;
+            renderer.setRotation(rotation);
+        }
+        
+        if (animating) {
+            animationFrame++;
+            if (animationFrame > 30) {
+                animating = false;
+                animationType = "";
+            }
+        }
+    }
+    
+    /**
+     * Baut die Szene der aktuellen Aufgabe neu auf. Immer in eine neue
+     * Szene - die vorige kann der Render-Thread gerade zeichnen.
+     */
+    public void buildScene() {
+        VoxelScene scene = new VoxelScene();
+        buildScene(scene, num1, num2, operator, true);
+        renderer.setScene(scene);
+    }
+    
+    /**
+     * Baut die Szene einer Aufgabe vorab auf, ohne den Renderer zu berühren.
+     * Darf auf jedem Thread laufen; die Szene ist bereits vorsortiert.
+     */
+    public VoxelScene prepareScene(int num1, int num2, String operator) {
+        VoxelScene scene = new VoxelScene();
+        buildScene(scene, num1, num2, operator, false);
+        scene.prepare();
+        return scene;
+    }
+    
+    private void buildScene(VoxelScene scene, int num1, int num2, String operator, boolean animated) {
+        switch (operator) {
+            case "+":
+                buildAdditionScene(scene, num1, num2, animated);
+                break;
+            case "-":
+                buildSubtractionScene(scene, num1, num2, animated);
+                break;
+            case "×":
+                buildMultiplicationScene(scene, num1, num2, animated);
+                break;
+            case "÷":
+                buildDivisionScene(scene, num1, num2, animated);
+                break;
+            default:
+                buildAdditionScene(scene, num1, num2, animated);
+        }
+    }
+    
+    /**
+     * Addition: zwei Blockgruppen links und rechts eines Plus-Zeichens
+     */
+    private void buildAdditionScene(VoxelScene scene, int num1, int num2, boolean animated) {
+        int count1 = Math.min(num1, 15);
+        int cols1 = (int) Math.ceil(Math.sqrt(count1));
+        for (int i = 0; i < count1; i++) {
+            int row = i / cols1;
+            int col = i % cols1;
+            double x = -80 + col * 25;
+            double z = -30 + row * 25;
+            double y = getAnimationOffset(i, animated);
+            scene.addVoxel(x, y, z, 40, COLOR_ADDITION);
+        }
+        
+        // Plus-Zeichen
+        for (int i = -1; i <= 1; i++) {
+            scene.addVoxel(i * 15, 0, 0, 25, 4);
+        }
+        for (int i = -1; i <= 1; i++) {
+            if (i != 0) {
+                scene.addVoxel(0, 0, i * 15, 25, 4);
+            }
+        }
+        
+        int count2 = Math.min(num2, 15);
+        int cols2 = (int) Math.ceil(Math.sqrt(count2));
+        for (int i = 0; i < count2; i++) {
+            int row = i / cols2;
+            int col = i % cols2;
+            double x = 80 + col * 25;
+            double z = -30 + row * 25;
+            double y = getAnimationOffset(i + count1, animated);
+            scene.addVoxel(x, y, z, 40, 7);
+        }
+    }
+    
+    /**
+     * Subtraktion: Blockreihe, abgezogene Blöcke schweben darüber
+     */
+    private void buildSubtractionScene(VoxelScene scene, int num1, int num2, boolean animated) {
+        int total = Math.min(num1, 20);
+        int remove = Math.min(num2, total);
+        int cols = 5;
+        
+        for (int i = 0; i < total; i++) {
+            int row = i / cols;
+            int col = i % cols;
+            double x = -60 + col * 30;
+            double z = -40 + row * 30;
+            double y = getAnimationOffset(i, animated);
+            
+            if (i < remove) {
+                scene.addVoxel(x, y + 30, z, 35, 2);
+            } else {
+                scene.addVoxel(x, y, z, 40, COLOR_SUBTRACTION);
+            }
+        }
+    }
+    
+    /**
+     * Multiplikation: Raster aus num1 × num2 Blöcken
+     */
+    private void buildMultiplicationScene(VoxelScene scene, int num1, int num2, boolean animated) {
+        int rows = Math.min(num1, 10);
+        int cols = Math.min(num2, 10);
+        
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                double x = (c - cols / 2.0) * 25;
+                double z = (r - rows / 2.0) * 25;
+                double y = getAnimationOffset(r * cols + c, animated);
+                int color = 8 + r % 3;
+                scene.addVoxel(x, y, z, 35, color);
+            }
+        }
+    }
+    
+    /**
+     * Division: num2 Gruppen (Plattformen) mit je num1 / num2 Blöcken
+     */
+    private void buildDivisionScene(VoxelScene scene, int num1, int num2, boolean animated) {
+        int total = Math.min(num1, 30);
+        int groups = Math.min(num2, 6);
+        int perGroup = total / groups;
+        
+        for (int g = 0; g < groups; g++) {
+            double groupX = (g - groups / 2.0) * 80;
+            
+            // Plattform
+            scene.addVoxel(groupX, 40, 0, 70, 2);
+            
+            int cols = (int) Math.ceil(Math.sqrt(perGroup));
+            for (int i = 0; i < perGroup && i < 9; i++) {
+                int row = i / cols;
+                int col = i % cols;
+                double x = groupX - 15 + col * 20;
+                double z = -15 + row * 20;
+                double y = getAnimationOffset(g * perGroup + i, animated);
+                scene.addVoxel(x, y, z, 30, COLOR_DIVISION);
+            }
+        }
+    }
+    
+    private double getAnimationOffset(int index, boolean animated) {
+        if (!animated || !animating) {
+            return 0;
+        }
+        
+        double offset = 0;
+        double phase = index * 0.3;
+        
+        switch (animationType) {
+            case "success":
+                // Hüpfen
+                offset = -Math.abs(Math.sin((animationFrame + phase) * 0.3)) * 30;
+                break;
+            case "shake":
+                // Wackeln
+                offset = Math.sin((animationFrame + phase) * 0.8) * 10;
+                break;
+            case "wave":
+                offset = Math.sin((animationFrame + phase) * 0.2) * 15;
+                break;
+        }
+        return offset;
+    }
+    
+    public void render(Graphics2D g2d) {
+        update();
+        renderer.render(g2d);
+    }
+    
+    public Retro3DRenderer getRenderer() {
+        return renderer;
+    }
+}
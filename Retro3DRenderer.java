@@ -2,16 +2,38 @@ package rendering;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Retro3DRenderer - 8-bit Isometric 3D Rendering Engine
  * Erstellt einen coolen Retro-Look mit Pixelart und isometrischer Perspektive
+ * 
+ * Gezeichnet wird auf einem Thread (EDT bzw. GameLoop). Neue Szenen
+ * kommen von anderen Threads ausschließlich über setScene() und werden
+ * zu Beginn des nächsten Frames übernommen, nie während er läuft.
  */
 public class Retro3DRenderer {
     
+    /**
+     * Zeichenweg der Szene. Vorgabe über -Dretro.renderer=software|graphics2d
+     */
+    public enum Backend {
+        /** Jede Würfelseite per Graphics2D.fillPolygon/drawPolygon */
+        GRAPHICS2D,
+        /** Eigener Rasterizer in ein int[]-Bild, Kacheln parallel auf dem ForkJoinPool */
+        SOFTWARE;
+        
+        public static Backend parse(String value) {
+            return valueOf(value.trim().toUpperCase());
+        }
+        
+        static Backend fromSystemProperty() {
+            String value = System.getProperty("retro.renderer");
+            return value != null ? parse(value) : GRAPHICS2D;
+        }
+    }
+    
     // 8-bit Farbpalette (NES-inspiriert)
     public static final Color[] PALETTE = {
         new Color(0, 0, 0),         // 0: Schwarz
@@ -39,9 +61,33 @@ public class Retro3DRenderer {
     };
     
     private int pixelSize = 3; // Größe eines "Pixels" für Retro-Look
-    private List<Voxel> voxels;
+    // Gehört dem Render-Thread; andere Threads übergeben Szenen nur über pendingScene
+    private VoxelBuffer voxels;
+    private final AtomicReference<VoxelScene> pendingScene = new AtomicReference<>();
     private double rotationY = 0;
     private int width, height;
+    private Backend backend = Backend.fromSystemProperty();
+    private SoftwareRasterizer rasterizer;
+    private boolean paletteDithering;
+    private SpriteCache spriteCache = new SpriteCache(SPRITE_CACHE_SIZE);
+    
+    // Verlauf und Grid, einmal gezeichnet (Graphics2D-Backend)
+    private BufferedImage backgroundLayer;
+    
+    // Stand des zuletzt vollständig ausgegebenen Frames (für getDirtyRegion)
+    private boolean rendered;
+    private long renderedSignature;
+    private final Rectangle renderedBounds = new Rectangle();
+    
+    private static final BasicStroke OUTLINE_STROKE = new BasicStroke(2);
+    // Überstand des Umrisses über die Würfelkanten (mit Rundung)
+    private static final int OUTLINE_MARGIN = 2;
+    private static final Color HIGHLIGHT = new Color(255, 255, 255, 100);
+    private static final int SPRITE_CACHE_SIZE = 512;
+    
+    // Farbverlauf des Hintergrunds (oben -> unten)
+    static final int BACKGROUND_TOP = 0x141428;     // Color(20, 20, 40)
+    static final int BACKGROUND_BOTTOM = 0x283C64;  // Color(40, 60, 100)
     
     // Isometrische Projektionswinkel
     private static final double ISO_ANGLE = Math.toRadians(30);
@@ -49,50 +95,287 @@ public class Retro3DRenderer {
     public Retro3DRenderer(int width, int height) {
         this.width = width;
         this.height = height;
-        this.voxels = new ArrayList<>();
+        this.voxels = new VoxelBuffer();
     }
     
     public void clear() {
+        acceptScene();
         voxels.clear();
     }
     
+    /**
+     * Übergibt eine fertig aufgebaute Szene an den Render-Thread (aus
+     * beliebigem Thread). Übernommen wird sie zu Beginn des nächsten
+     * Frames; eine bis dahin nicht übernommene Szene wird ersetzt.
+     * Die Szene gehört danach dem Renderer und darf nicht mehr verändert
+     * werden.
+     */
+    public void setScene(VoxelScene scene) {
+        pendingScene.set(scene);
+    }
+    
+    /**
+     * Übernimmt die zuletzt übergebene Szene (nur auf dem Render-Thread)
+     */
+    private void acceptScene() {
+        VoxelScene scene = pendingScene.getAndSet(null);
+        if (scene != null) {
+            voxels = scene.voxels;
+        }
+    }
+    
     public void setRotation(double angle) {
         this.rotationY = angle;
     }
     
+    public double getRotation() {
+        return rotationY;
+    }
+    
+    /**
+     * Voxel der zuletzt übergebenen bzw. der gezeichneten Szene
+     */
+    public int getVoxelCount() {
+        VoxelScene scene = pendingScene.get();
+        return scene != null ? scene.size() : voxels.size();
+    }
+    
+    public void setBackend(Backend backend) {
+        this.backend = backend;
+    }
+    
+    public Backend getBackend() {
+        return backend;
+    }
+    
+    /**
+     * Graphics2D-Backend: Würfel als vorgerenderte Sprites blitten
+     * (Standard) statt jede Seite einzeln zu füllen und zu umranden
+     */
+    public void setSpriteCaching(boolean enabled) {
+        spriteCache = enabled ? new SpriteCache(SPRITE_CACHE_SIZE) : null;
+    }
+    
     /**
-     * Fügt einen 3D-Block (Voxel) hinzu
+     * Reduziert im SOFTWARE-Backend das fertige Bild (inkl. Schattierung
+     * und Überblendungen) auf die Palette, mit Bayer-Dithering
+     */
+    public void setPaletteDithering(boolean enabled) {
+        this.paletteDithering = enabled;
+    }
+    
+    /**
+     * Fügt einen 3D-Block (Voxel) hinzu - wie clear() und
+     * highlightLastVoxel() nur auf dem Render-Thread, sonst über setScene()
      */
     public void addVoxel(double x, double y, double z, int size, int colorIndex) {
-        voxels.add(new Voxel(x, y, z, size, PALETTE[colorIndex % PALETTE.length]));
+        acceptScene();
+        voxels.add((float) x, (float) y, (float) z, size, colorIndex % PALETTE.length, (byte) 0);
     }
     
     public void addVoxel(double x, double y, double z, int size, Color color) {
-        voxels.add(new Voxel(x, y, z, size, color));
+        acceptScene();
+        voxels.add((float) x, (float) y, (float) z, size, voxels.colorIndexOf(color), (byte) 0);
+    }
+    
+    /**
+     * Hebt die Oberseite des zuletzt hinzugefügten Voxels hervor
+     */
+    public void highlightLastVoxel() {
+        acceptScene();
+        if (voxels.size() > 0) {
+            voxels.setFlag(voxels.size() - 1, VoxelBuffer.FLAG_HIGHLIGHT, true);
+        }
+    }
+    
+    /**
+     * Bereich, der sich seit dem letzten render() geändert hat: alte und
+     * neue Ausdehnung der Voxel, wenn Szene, Rotation oder Darstellung
+     * anders sind. null, wenn das zuletzt gezeichnete Bild noch stimmt.
+     * Beginnt einen Frame: übernimmt eine mit setScene() übergebene Szene.
+     */
+    public Rectangle getDirtyRegion() {
+        acceptScene();
+        if (!rendered) {
+            return new Rectangle(0, 0, width, height);
+        }
+        if (signature() == renderedSignature) {
+            return null;
+        }
+        return union(renderedBounds, sceneBounds(new Rectangle()));
+    }
+    
+    private long signature() {
+        long hash = voxels.contentHash();
+        hash = hash * 31 + Double.doubleToLongBits(rotationY);
+        hash = hash * 31 + backend.ordinal();
+        hash = hash * 31 + (paletteDithering ? 1 : 0);
+        return hash * 31 + (spriteCache != null ? 1 : 0);
     }
     
     /**
-     * Rendert die 3D-Szene mit 8-bit Ästhetik
+     * Umschließendes Rechteck aller Voxel inkl. Umriss, auf das Bild beschnitten
+     */
+    private Rectangle sceneBounds(Rectangle bounds) {
+        bounds.setBounds(0, 0, 0, 0);
+        double cos = Math.cos(rotationY);
+        double sin = Math.sin(rotationY);
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < voxels.size(); i++) {
+            double x = voxels.x(i);
+            double z = voxels.z(i);
+            double rotatedX = x * cos - z * sin;
+            double rotatedZ = x * sin + z * cos;
+            int screenX = (int) (width / 2 + (rotatedX - rotatedZ) * Math.cos(ISO_ANGLE) * 1.5);
+            int screenY = (int) (height / 2 + (rotatedX + rotatedZ) * Math.sin(ISO_ANGLE) - voxels.y(i) * 1.2);
+            int half = voxels.size(i) / 2;
+            int quarter = voxels.size(i) / 4;
+            minX = Math.min(minX, screenX - half - OUTLINE_MARGIN);
+            maxX = Math.max(maxX, screenX + half + OUTLINE_MARGIN);
+            minY = Math.min(minY, screenY - quarter - OUTLINE_MARGIN);
+            maxY = Math.max(maxY, screenY + quarter + half + OUTLINE_MARGIN);
+        }
+        if (minX <= maxX) {
+            bounds.setBounds(minX, minY, maxX - minX + 1, maxY - minY + 1);
+            Rectangle.intersect(bounds, new Rectangle(0, 0, width, height), bounds);
+        }
+        return bounds;
+    }
+    
+    private static Rectangle union(Rectangle a, Rectangle b) {
+        if (a.isEmpty()) {
+            return b;
+        }
+        return b.isEmpty() ? new Rectangle(a) : a.union(b);
+    }
+    
+    /**
+     * Merkt sich den Stand für getDirtyRegion - nur wenn der Clip alles
+     * Geänderte abdeckt, sonst bleiben Reste des alten Frames stehen
+     */
+    private void markRendered(Graphics2D g2d) {
+        Rectangle dirty = getDirtyRegion();
+        Rectangle clip = g2d.getClipBounds();
+        if (dirty == null || clip != null && !dirty.isEmpty() && !clip.contains(dirty)) {
+            return;
+        }
+        renderedSignature = signature();
+        sceneBounds(renderedBounds);
+        rendered = true;
+    }
+    
+    /**
+     * Rendert die 3D-Szene mit 8-bit Ästhetik. Bei gesetztem Clip
+     * (Teil-Repaint) werden nur Voxel gezeichnet, die ihn berühren.
      */
     public void render(Graphics2D g2d) {
+        acceptScene();
+        markRendered(g2d);
+        if (backend == Backend.SOFTWARE) {
+            renderSoftware(g2d);
+            return;
+        }
+        
         // Pixelated Hintergrund
         renderBackground(g2d);
         
         // Sortiere Voxels für korrekte Tiefendarstellung (Painter's Algorithm)
-        voxels.sort(Comparator.comparingDouble(v -> -v.z - v.y + v.x));
+        voxels.sortByDepth();
         
         // Render alle Voxels
-        for (Voxel voxel : voxels) {
-            renderVoxel(g2d, voxel);
+        Rectangle clip = g2d.getClipBounds();
+        double cos = Math.cos(rotationY);
+        double sin = Math.sin(rotationY);
+        for (int n = 0; n < voxels.size(); n++) {
+            renderVoxel(g2d, voxels.drawOrder(n), cos, sin, clip);
+        }
+        keepOutlineStroke(g2d);
+    }
+    
+    /**
+     * Rendert offscreen in ein BufferedImage (auch mit java.awt.headless=true).
+     * Ein passendes target wird wiederverwendet, sonst neu angelegt.
+     * @return das gezeichnete Bild
+     */
+    public BufferedImage renderToImage(BufferedImage target) {
+        if (target == null || target.getWidth() != width || target.getHeight() != height) {
+            target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D g2d = target.createGraphics();
+        try {
+            render(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        return target;
+    }
+    
+    /**
+     * Das direkte Zeichnen hinterlässt den 2px-Umriss im Graphics-Kontext,
+     * das nachfolgende UI-Overlay zeichnet damit seine Rahmen. Sprites und
+     * Software-Backend setzen ihn daher ebenfalls.
+     */
+    private void keepOutlineStroke(Graphics2D g2d) {
+        if (voxels.size() > 0) {
+            g2d.setStroke(OUTLINE_STROKE);
         }
     }
     
+    /**
+     * Projiziert die Voxel einmal, rasterisiert parallel und gibt das
+     * fertige Bild mit einem einzigen drawImage aus
+     */
+    private void renderSoftware(Graphics2D g2d) {
+        if (rasterizer == null) {
+            rasterizer = new SoftwareRasterizer(width, height, pixelSize, ForkJoinPool.commonPool());
+        }
+        voxels.sortByDepth();
+        
+        double cos = Math.cos(rotationY);
+        double sin = Math.sin(rotationY);
+        rasterizer.beginScene();
+        for (int n = 0; n < voxels.size(); n++) {
+            int i = voxels.drawOrder(n);
+            double x = voxels.x(i);
+            double z = voxels.z(i);
+            double rotatedX = x * cos - z * sin;
+            double rotatedZ = x * sin + z * cos;
+            int screenX = (int) (width / 2 + (rotatedX - rotatedZ) * Math.cos(ISO_ANGLE) * 1.5);
+            int screenY = (int) (height / 2 + (rotatedX + rotatedZ) * Math.sin(ISO_ANGLE) - voxels.y(i) * 1.2);
+            rasterizer.addProjected(screenX, screenY, voxels.size(i), voxels.color(i),
+                voxels.hasFlag(i, VoxelBuffer.FLAG_HIGHLIGHT));
+        }
+        Rectangle clip = g2d.getClipBounds();
+        if (clip != null) {
+            rasterizer.render(paletteDithering, clip.x, clip.y, clip.width, clip.height);
+        } else {
+            rasterizer.render(paletteDithering);
+        }
+        g2d.drawImage(rasterizer.getImage(), 0, 0, null);
+        keepOutlineStroke(g2d);
+    }
+    
+    /**
+     * Hintergrund aus dem zwischengespeicherten Layer - neu gezeichnet
+     * nur beim ersten Mal bzw. wenn sich die Größe geändert hat
+     */
     private void renderBackground(Graphics2D g2d) {
+        if (backgroundLayer == null || backgroundLayer.getWidth() != width || backgroundLayer.getHeight() != height) {
+            backgroundLayer = g2d.getDeviceConfiguration().createCompatibleImage(width, height);
+            Graphics2D g = backgroundLayer.createGraphics();
+            paintBackground(g);
+            g.dispose();
+        }
+        g2d.drawImage(backgroundLayer, 0, 0, null);
+    }
+    
+    private void paintBackground(Graphics2D g2d) {
         // Gradient-Hintergrund im Retro-Stil
         for (int y = 0; y < height; y += pixelSize * 2) {
             int colorIndex = (y * 3 / height);
-            Color bgColor = blendColors(new Color(20, 20, 40), new Color(40, 60, 100), (double) y / height);
-            g2d.setColor(quantizeColor(bgColor));
+            int bgColor = PaletteQuantizer.blend(BACKGROUND_TOP, BACKGROUND_BOTTOM, (double) y / height);
+            g2d.setColor(PALETTE[PaletteQuantizer.indexOf(bgColor)]);
             g2d.fillRect(0, y, width, pixelSize * 2);
         }
         
@@ -109,17 +392,39 @@ public class Retro3DRenderer {
     /**
      * Rendert einen einzelnen Voxel (3D-Block) isometrisch
      */
-    private void renderVoxel(Graphics2D g2d, Voxel voxel) {
+    private void renderVoxel(Graphics2D g2d, int i, double cos, double sin, Rectangle clip) {
+        double x = voxels.x(i);
+        double z = voxels.z(i);
+        Color color = voxels.color(i);
+        
         // Rotation anwenden
-        double rotatedX = voxel.x * Math.cos(rotationY) - voxel.z * Math.sin(rotationY);
-        double rotatedZ = voxel.x * Math.sin(rotationY) + voxel.z * Math.cos(rotationY);
+        double rotatedX = x * cos - z * sin;
+        double rotatedZ = x * sin + z * cos;
         
         // Isometrische Projektion
         int screenX = (int) (width / 2 + (rotatedX - rotatedZ) * Math.cos(ISO_ANGLE) * 1.5);
-        int screenY = (int) (height / 2 + (rotatedX + rotatedZ) * Math.sin(ISO_ANGLE) - voxel.y * 1.2);
+        int screenY = (int) (height / 2 + (rotatedX + rotatedZ) * Math.sin(ISO_ANGLE) - voxels.y(i) * 1.2);
         
-        int size = voxel.size;
+        int size = voxels.size(i);
+        int half = size / 2;
+        int quarter = size / 4;
+        if (clip != null && !clip.intersects(screenX - half - OUTLINE_MARGIN, screenY - quarter - OUTLINE_MARGIN,
+                                             2 * half + 2 * OUTLINE_MARGIN + 1, 2 * quarter + half + 2 * OUTLINE_MARGIN + 1)) {
+            return;
+        }
+        boolean highlight = voxels.hasFlag(i, VoxelBuffer.FLAG_HIGHLIGHT);
         
+        if (spriteCache != null) {
+            spriteCache.draw(g2d, screenX, screenY, size, color, highlight);
+        } else {
+            drawCube(g2d, screenX, screenY, size, color, highlight);
+        }
+    }
+    
+    /**
+     * Zeichnet einen schattierten Würfel (auch für die Sprites des SpriteCache)
+     */
+    static void drawCube(Graphics2D g2d, int screenX, int screenY, int size, Color color, boolean highlight) {
         // Berechne die Eckpunkte des isometrischen Würfels
         int[][] topFace = getIsometricTopFace(screenX, screenY, size);
         int[][] leftFace = getIsometricLeftFace(screenX, screenY, size);
@@ -127,28 +432,28 @@ public class Retro3DRenderer {
         
         // Render die drei sichtbaren Seiten mit Schattierung
         // Rechte Seite (dunkelste)
-        g2d.setColor(darkenColor(voxel.color, 0.5));
+        g2d.setColor(darkenColor(color, 0.5));
         g2d.fillPolygon(rightFace[0], rightFace[1], 4);
         drawPixelatedOutline(g2d, rightFace[0], rightFace[1], 4);
         
         // Linke Seite (mittel)
-        g2d.setColor(darkenColor(voxel.color, 0.7));
+        g2d.setColor(darkenColor(color, 0.7));
         g2d.fillPolygon(leftFace[0], leftFace[1], 4);
         drawPixelatedOutline(g2d, leftFace[0], leftFace[1], 4);
         
         // Oberseite (hellste)
-        g2d.setColor(voxel.color);
+        g2d.setColor(color);
         g2d.fillPolygon(topFace[0], topFace[1], 4);
         drawPixelatedOutline(g2d, topFace[0], topFace[1], 4);
         
         // Highlight auf der Oberseite
-        if (voxel.highlight) {
-            g2d.setColor(new Color(255, 255, 255, 100));
+        if (highlight) {
+            g2d.setColor(HIGHLIGHT);
             g2d.fillPolygon(topFace[0], topFace[1], 4);
         }
     }
     
-    private int[][] getIsometricTopFace(int x, int y, int size) {
+    private static int[][] getIsometricTopFace(int x, int y, int size) {
         int halfSize = size / 2;
         int quarterSize = size / 4;
         
@@ -167,7 +472,7 @@ public class Retro3DRenderer {
         return new int[][] {xPoints, yPoints};
     }
     
-    private int[][] getIsometricLeftFace(int x, int y, int size) {
+    private static int[][] getIsometricLeftFace(int x, int y, int size) {
         int halfSize = size / 2;
         int quarterSize = size / 4;
         
@@ -186,7 +491,7 @@ public class Retro3DRenderer {
         return new int[][] {xPoints, yPoints};
     }
     
-    private int[][] getIsometricRightFace(int x, int y, int size) {
+    private static int[][] getIsometricRightFace(int x, int y, int size) {
         int halfSize = size / 2;
         int quarterSize = size / 4;
         
@@ -205,34 +510,17 @@ public class Retro3DRenderer {
         return new int[][] {xPoints, yPoints};
     }
     
-    private void drawPixelatedOutline(Graphics2D g2d, int[] xPoints, int[] yPoints, int nPoints) {
+    private static void drawPixelatedOutline(Graphics2D g2d, int[] xPoints, int[] yPoints, int nPoints) {
         g2d.setColor(PALETTE[0]); // Schwarz
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(OUTLINE_STROKE);
         g2d.drawPolygon(xPoints, yPoints, nPoints);
     }
     
     /**
-     * Quantisiert eine Farbe auf die 8-bit Palette
+     * Quantisiert eine Farbe auf die 8-bit Palette (Lookup-Table, O(1))
      */
     public static Color quantizeColor(Color color) {
-        Color closest = PALETTE[0];
-        double minDistance = Double.MAX_VALUE;
-        
-        for (Color paletteColor : PALETTE) {
-            double distance = colorDistance(color, paletteColor);
-            if (distance < minDistance) {
-                minDistance = distance;
-                closest = paletteColor;
-            }
-        }
-        return closest;
-    }
-    
-    private static double colorDistance(Color c1, Color c2) {
-        int dr = c1.getRed() - c2.getRed();
-        int dg = c1.getGreen() - c2.getGreen();
-        int db = c1.getBlue() - c2.getBlue();
-        return Math.sqrt(dr * dr + dg * dg + db * db);
+        return PALETTE[PaletteQuantizer.indexOf(color.getRGB())];
     }
     
     public static Color darkenColor(Color color, double factor) {
@@ -250,27 +538,4 @@ public class Retro3DRenderer {
             (int) (c1.getBlue() * (1 - ratio) + c2.getBlue() * ratio)
         );
     }
-    
-    /**
-     * Innere Klasse für 3D-Voxel
-     */
-    public static class Voxel {
-        double x, y, z;
-        int size;
-        Color color;
-        boolean highlight = false;
-        double animationOffset = 0;
-        
-        public Voxel(double x, double y, double z, int size, Color color) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.size = size;
-            this.color = color;
-        }
-        
-        public void setHighlight(boolean highlight) {
-            this.highlight = highlight;
-        }
-    }
 }
@@ -0,0 +1,303 @@
+package rendering;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RetroFont - 8x8 Pixel-Schrift im 8-bit Stil
+ * 
+ * Jedes Zeichen ist eine 8x8 Bitmap, gezeichnet mit scale x scale großen
+ * Pixeln. Zeichen ohne Bitmap rücken nur den Cursor weiter.
+ * 
+ * Gezeichnet wird über einen GlyphAtlas: jedes Zeichen wird pro Größe und
+ * Farbe einmal in ein Bild gerastert, ganze Texte (auch mit Glow) werden
+ * als fertige Bitmaps zwischengespeichert. Ein unveränderter Text kostet
+ * damit ein drawImage pro Frame statt eines fillRect pro Pixel.
+ */
+public class RetroFont {
+    static final int CHAR_WIDTH = 8;
+    static final int CHAR_HEIGHT = 8;
+    
+    private static final Map<Character, int[][]> FONT_DATA = new HashMap<>();
+    
+    // Glow: Schatten unter dem eigentlichen Text
+    static final Color GLOW_SHADOW = new Color(0, 0, 0, 150);
+    
+    // Zwischengespeicherte Zeichen und Texte, siehe setCaching
+    private static final int ATLAS_GLYPHS = 512;
+    private static final int ATLAS_TEXTS = 256;
+    private static final GlyphAtlas ATLAS = new GlyphAtlas(ATLAS_GLYPHS, ATLAS_TEXTS);
+    private static volatile boolean caching = true;
+    
+    static {
+        initializeFontData();
+    }
+    
+    private static void initializeFontData() {
+        // Ziffern 0-9
+        FONT_DATA.put('0', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,1,1,1},
+            {1,1,0,0,1,0,1,1},
+            {1,1,0,1,0,0,1,1},
+            {1,1,1,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0}
+        });
+        FONT_DATA.put('1', new int[][] {
+            {0,0,0,1,1,0,0,0},
+            {0,0,1,1,1,0,0,0},
+            {0,1,1,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,1,1,1,1,1,1,0}
+        });
+        FONT_DATA.put('2', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {0,0,0,0,0,0,1,1},
+            {0,0,0,0,1,1,1,0},
+            {0,0,1,1,1,0,0,0},
+            {0,1,1,0,0,0,0,0},
+            {1,1,0,0,0,0,0,0},
+            {1,1,1,1,1,1,1,1}
+        });
+        FONT_DATA.put('3', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {0,0,0,0,0,0,1,1},
+            {0,0,1,1,1,1,1,0},
+            {0,0,0,0,0,0,1,1},
+            {0,0,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0}
+        });
+        FONT_DATA.put('4', new int[][] {
+            {0,0,0,0,1,1,1,0},
+            {0,0,0,1,1,1,1,0},
+            {0,0,1,1,0,1,1,0},
+            {0,1,1,0,0,1,1,0},
+            {1,1,0,0,0,1,1,0},
+            {1,1,1,1,1,1,1,1},
+            {0,0,0,0,0,1,1,0},
+            {0,0,0,0,0,1,1,0}
+        });
+        FONT_DATA.put('5', new int[][] {
+            {1,1,1,1,1,1,1,1},
+            {1,1,0,0,0,0,0,0},
+            {1,1,0,0,0,0,0,0},
+            {1,1,1,1,1,1,1,0},
+            {0,0,0,0,0,0,1,1},
+            {0,0,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0}
+        });
+        FONT_DATA.put('6', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,0,0},
+            {1,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0}
+        });
+        FONT_DATA.put('7', new int[][] {
+            {1,1,1,1,1,1,1,1},
+            {0,0,0,0,0,0,1,1},
+            {0,0,0,0,0,1,1,0},
+            {0,0,0,0,1,1,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0}
+        });
+        FONT_DATA.put('8', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0}
+        });
+        FONT_DATA.put('9', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,1},
+            {0,0,0,0,0,0,1,1},
+            {0,0,0,0,0,0,1,1},
+            {1,1,0,0,0,0,1,1},
+            {0,1,1,1,1,1,1,0}
+        });
+        
+        // Operatoren
+        FONT_DATA.put('+', new int[][] {
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,1,1,1,1,1,1,0},
+            {0,1,1,1,1,1,1,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,0,0,0,0,0}
+        });
+        FONT_DATA.put('-', new int[][] {
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,1,1,1,1,1,1,0},
+            {0,1,1,1,1,1,1,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0}
+        });
+        FONT_DATA.put('×', new int[][] {
+            {0,0,0,0,0,0,0,0},
+            {0,1,1,0,0,1,1,0},
+            {0,0,1,1,1,1,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,1,1,1,1,0,0},
+            {0,1,1,0,0,1,1,0},
+            {0,0,0,0,0,0,0,0}
+        });
+        FONT_DATA.put('÷', new int[][] {
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,1,1,1,1,1,1,0},
+            {0,1,1,1,1,1,1,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,0,0,0,0,0}
+        });
+        FONT_DATA.put('=', new int[][] {
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,1,1,1,1,1,1,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,1,1,1,1,1,1,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0}
+        });
+        FONT_DATA.put('?', new int[][] {
+            {0,1,1,1,1,1,1,0},
+            {1,1,0,0,0,0,1,1},
+            {0,0,0,0,0,0,1,1},
+            {0,0,0,0,1,1,1,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,1,1,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,1,1,0,0,0}
+        });
+        
+        // Leerzeichen
+        FONT_DATA.put(' ', new int[][] {
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0},
+            {0,0,0,0,0,0,0,0}
+        });
+    }
+    
+    /**
+     * Texte über den GlyphAtlas zeichnen (Standard) oder wie früher
+     * Pixel für Pixel per fillRect
+     */
+    public static void setCaching(boolean enabled) {
+        caching = enabled;
+        if (!enabled) {
+            ATLAS.clear();
+        }
+    }
+    
+    public static void drawText(Graphics2D g2d, String text, int x, int y, int scale, Color color) {
+        drawText(g2d, text, x, y, scale, color, null);
+    }
+    
+    /**
+     * Zeichnet Text, optional mit um scale Pixel versetztem Schatten
+     */
+    public static void drawText(Graphics2D g2d, String text, int x, int y, int scale, Color color, Color shadow) {
+        if (caching) {
+            ATLAS.drawText(g2d, text, x, y, scale, color, shadow, false);
+            return;
+        }
+        int cursorX = x;
+        for (char c : text.toCharArray()) {
+            int[][] charData = FONT_DATA.get(c);
+            if (charData == null) {
+                cursorX += (CHAR_WIDTH + 1) * scale;
+                continue;
+            }
+            
+            // Schatten
+            if (shadow != null) {
+                drawChar(g2d, charData, cursorX + scale, y + scale, scale, shadow);
+            }
+            
+            drawChar(g2d, charData, cursorX, y, scale, color);
+            cursorX += (CHAR_WIDTH + 1) * scale;
+        }
+    }
+    
+    static void drawChar(Graphics2D g2d, int[][] charData, int x, int y, int scale, Color color) {
+        g2d.setColor(color);
+        for (int row = 0; row < CHAR_HEIGHT; row++) {
+            for (int col = 0; col < CHAR_WIDTH; col++) {
+                if (charData[row][col] == 1) {
+                    g2d.fillRect(x + col * scale, y + row * scale, scale, scale);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Text mit Glow-Effekt: vier diagonal versetzte, transparente Kopien,
+     * darüber der Text mit Schatten
+     */
+    public static void drawGlowText(Graphics2D g2d, String text, int x, int y, int scale, Color color) {
+        if (caching) {
+            ATLAS.drawText(g2d, text, x, y, scale, color, null, true);
+            return;
+        }
+        Color glowColor = glowColor(color);
+        drawText(g2d, text, x - scale, y - scale, scale, glowColor);
+        drawText(g2d, text, x + scale, y - scale, scale, glowColor);
+        drawText(g2d, text, x - scale, y + scale, scale, glowColor);
+        drawText(g2d, text, x + scale, y + scale, scale, glowColor);
+        
+        drawText(g2d, text, x, y, scale, color, GLOW_SHADOW);
+    }
+    
+    static Color glowColor(Color color) {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), 50);
+    }
+    
+    /**
+     * Bitmap eines Zeichens, null wenn die Schrift es nicht kennt
+     */
+    static int[][] charData(char c) {
+        return FONT_DATA.get(c);
+    }
+    
+    public static int getTextWidth(String text, int scale) {
+        return text.length() * (CHAR_WIDTH + 1) * scale;
+    }
+    
+    public static int getTextHeight(int scale) {
+        return CHAR_HEIGHT * scale;
+    }
+}
@@ -1,6 +1,9 @@
 import core.*;
 import services.*;
 import events.*;
+import storage.AnswerLog;
+import java.io.IOException;
+import java.nio.file.Paths;
 import javax.swing.*;
 
 /**
@@ -49,8 +52,14 @@ public class RetroMathGame {
     private final EventBus eventBus;
     
     public RetroMathGame() {
+        this(ExecutionMode.PLATFORM);
+    }
+    
+    public RetroMathGame(ExecutionMode executionMode) {
         this.eventBus = EventBus.getInstance();
         this.serviceManager = new ServiceManager();
+        serviceManager.setExecutionMode(executionMode);
+        eventBus.getMetrics().registerMBean("default");
         
         initializeServices();
     }
@@ -85,6 +94,20 @@ public class RetroMathGame {
         AudioService audioService = new AudioService();
         RenderService renderService = new RenderService(960, 500);
         
+        // Vorab erzeugte Aufgaben bringen ihre Szene gleich mit
+        taskService.setSceneFactory(renderService::prepareScene);
+        
+        // Antwort-Historie und Spielstand über Neustarts hinweg
+        String logDirectory = System.getProperty("retro.answerLog",
+            Paths.get(System.getProperty("user.home"), ".retromath", "answers").toString());
+        if (!logDirectory.equals("none")) {
+            try {
+                scoreService.setAnswerLog(AnswerLog.open(Paths.get(logDirectory)));
+            } catch (IOException e) {
+                System.err.println("[RetroMathGame] Antwort-Log nicht verfügbar: " + e.getMessage());
+            }
+        }
+        
         // UI Service (benötigt andere Services)
         UIService uiService = new UIService(renderService, taskService, audioService);
         
@@ -100,6 +123,14 @@ public class RetroMathGame {
         serviceManager.startAll();
         serviceManager.printStatus();
         
+        // Wiederhergestellten Spielstand übernehmen
+        ScoreService scoreService = serviceManager.getService("ScoreService");
+        if (scoreService.getCorrectAnswers() + scoreService.getWrongAnswers() > 0) {
+            TaskService taskService = serviceManager.getService("TaskService");
+            taskService.setDifficulty(scoreService.getLevel());
+            scoreService.publishScore();
+        }
+        
         // Spiel starten
         eventBus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
         
@@ -107,6 +138,9 @@ public class RetroMathGame {
         AudioService audioService = serviceManager.getService("AudioService");
         if (audioService != null) {
             audioService.playSound("start");
+            if (Boolean.getBoolean("retro.music")) {
+                audioService.playMusic("theme");
+            }
         }
     }
     
@@ -116,6 +150,41 @@ public class RetroMathGame {
     }
     
     public static void main(String[] args) {
+        // Optionen: --exec=platform|virtual, --metrics=SEKUNDEN, --renderer=graphics2d|software,
+        //           --full-repaint (jeden Frame das ganze Panel statt nur geänderter Bereiche),
+        //           --active-render (eigener Render-Thread mit BufferStrategy), --fps=N,
+        //           --no-audio (Sounds in eine NullAudioSink mischen), --music (Hintergrundmusik),
+        //           --answer-log=VERZEICHNIS (Standard ~/.retromath/answers), --no-answer-log
+        ExecutionMode executionMode = ExecutionMode.PLATFORM;
+        int metricsInterval = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--exec=")) {
+                executionMode = ExecutionMode.parse(arg.substring("--exec=".length()));
+            } else if (arg.startsWith("--metrics=")) {
+                metricsInterval = Integer.parseInt(arg.substring("--metrics=".length()));
+            } else if (arg.startsWith("--renderer=")) {
+                // Wird von Retro3DRenderer beim Erzeugen gelesen
+                System.setProperty("retro.renderer", arg.substring("--renderer=".length()));
+            } else if (arg.equals("--full-repaint")) {
+                System.setProperty("retro.fullRepaint", "true");
+            } else if (arg.equals("--active-render")) {
+                System.setProperty("retro.activeRender", "true");
+            } else if (arg.startsWith("--fps=")) {
+                System.setProperty("retro.fps", arg.substring("--fps=".length()));
+            } else if (arg.equals("--no-audio")) {
+                System.setProperty("retro.audio", "null");
+            } else if (arg.equals("--music")) {
+                System.setProperty("retro.music", "true");
+            } else if (arg.startsWith("--answer-log=")) {
+                System.setProperty("retro.answerLog", arg.substring("--answer-log=".length()));
+            } else if (arg.equals("--no-answer-log")) {
+                System.setProperty("retro.answerLog", "none");
+            }
+        }
+        if (metricsInterval > 0) {
+            EventBus.getInstance().getMetrics().startPeriodicDump(metricsInterval, java.util.concurrent.TimeUnit.SECONDS);
+        }
+        
         // Look & Feel für dunkleres Theme
         try {
             UIManager.setLookAndFeel(UIManager.getCrossPlatformLookAndFeelClassName());
@@ -130,8 +199,9 @@ public class RetroMathGame {
             e.printStackTrace();
         }
         
+        ExecutionMode mode = executionMode;
         SwingUtilities.invokeLater(() -> {
-            RetroMathGame game = new RetroMathGame();
+            RetroMathGame game = new RetroMathGame(mode);
             game.start();
             
             // Shutdown Hook
@@ -0,0 +1,220 @@
+package events;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * RingBufferDispatcher - Lock-freie Zustell-Engine (Disruptor-Stil)
+ * 
+ * Alle Zustellungen laufen durch einen vorab allokierten Ring aus
+ * (Subscription, Event)-Slots. Jeder Slot trägt eine Sequenznummer,
+ * über die Producer und Consumer per CAS ihre Position beanspruchen -
+ * kein Lock, keine Task-Objekte pro Handler.
+ * 
+ * Producer dürfen aus beliebigen Threads veröffentlichen (EDT, Handler),
+ * mehrere Consumer-Threads arbeiten den Ring gemeinsam ab.
+ * Ist der Ring voll, wartet der Producer gemäß WaitStrategy (Backpressure).
+ * Ausnahme sind Handler auf den Consumer-Threads selbst: sie würden auf
+ * sich selbst warten, ihr Event wird daher verworfen und gezählt.
+ * 
+ * Nach shutdown() arbeiten die Consumer den Ring leer und enden; was
+ * danach noch hineinkommt, wird verworfen (Subscription.discard).
+ */
+public class RingBufferDispatcher implements EventDispatcher {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Subscription[] subscriptions;
+    private final GameEvent[] events;
+    private final AtomicLong producerCursor = new AtomicLong();
+    private final AtomicLong consumerCursor = new AtomicLong();
+    private final WaitStrategy waitStrategy;
+    private final Thread[] consumers;
+    private final AtomicLong droppedCounter = new AtomicLong();
+    private volatile boolean running = true;
+    
+    public RingBufferDispatcher(int capacity, int consumerThreads, WaitStrategy waitStrategy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Kapazität muss eine Zweierpotenz sein: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.subscriptions = new Subscription[capacity];
+        this.events = new GameEvent[capacity];
+        this.waitStrategy = waitStrategy;
+        
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        
+        consumers = new Thread[consumerThreads];
+        for (int i = 0; i < consumerThreads; i++) {
+            consumers[i] = new Thread(this::consumeLoop, "EventBus-Ring-" + i);
+            consumers[i].setDaemon(true);
+            consumers[i].start();
+        }
+    }
+    
+    @Override
+    public void dispatch(Subscription subscription, GameEvent event) {
+        if (!running) {
+            throw new RejectedExecutionException("RingBufferDispatcher wurde beendet");
+        }
+        claim(subscription, event);
+        if (!running) {
+            // shutdown() kam dazwischen, die Consumer sind evtl. schon fertig
+            discardRemaining();
+        }
+    }
+    
+    /**
+     * Prüft nur einmal auf shutdown: ein Batch wird ganz oder gar nicht übernommen
+     */
+    @Override
+    public void dispatchBatch(Subscription subscription, List<GameEvent> batch) {
+        if (!running) {
+            throw new RejectedExecutionException("RingBufferDispatcher wurde beendet");
+        }
+        for (GameEvent event : batch) {
+            claim(subscription, event);
+        }
+        if (!running) {
+            discardRemaining();
+        }
+    }
+    
+    private void claim(Subscription subscription, GameEvent event) {
+        long pos = producerCursor.get();
+        int idle = 0;
+        int index;
+        while (true) {
+            index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                if (isConsumer(Thread.currentThread())) {
+                    // Handler auf einem Consumer: Warten würde ihn selbst blockieren
+                    subscription.discard(event);
+                    droppedCounter.incrementAndGet();
+                    return;
+                }
+                if (!running) {
+                    discardRemaining();
+                }
+                // Ring voll - auf Consumer warten
+                idle = waitStrategy.idle(idle);
+            }
+            pos = producerCursor.get();
+        }
+        
+        subscriptions[index] = subscription;
+        events[index] = event;
+        // Volatile statt lazySet: muss vor dem running-Check in dispatch sichtbar sein
+        sequences.set(index, pos + 1);
+    }
+    
+    private boolean isConsumer(Thread thread) {
+        for (Thread consumer : consumers) {
+            if (consumer == thread) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void consumeLoop() {
+        int idle = 0;
+        while (true) {
+            if (tryConsume()) {
+                idle = 0;
+            } else if (running) {
+                idle = waitStrategy.idle(idle);
+            } else {
+                return; // beendet und leer
+            }
+        }
+    }
+    
+    /**
+     * Holt einen Eintrag aus dem Ring und stellt ihn zu
+     * @return false, wenn der Ring leer war
+     */
+    private boolean tryConsume() {
+        return take(false);
+    }
+    
+    /**
+     * Verwirft alle veröffentlichten, noch nicht zugestellten Einträge
+     */
+    private void discardRemaining() {
+        while (take(true)) {
+            droppedCounter.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Holt einen Eintrag aus dem Ring und stellt ihn zu bzw. verwirft ihn
+     * @return false, wenn der Ring leer war
+     */
+    private boolean take(boolean discard) {
+        long pos = consumerCursor.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (consumerCursor.compareAndSet(pos, pos + 1)) {
+                    Subscription subscription = subscriptions[index];
+                    GameEvent event = events[index];
+                    subscriptions[index] = null;
+                    events[index] = null;
+                    sequences.lazySet(index, pos + mask + 1);
+                    if (discard) {
+                        subscription.discard(event);
+                    } else {
+                        subscription.deliverSafely(event);
+                    }
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            pos = consumerCursor.get();
+        }
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        return (int) Math.max(0, producerCursor.get() - consumerCursor.get());
+    }
+    
+    @Override
+    public long getDroppedCount() {
+        return droppedCounter.get();
+    }
+    
+    /**
+     * Beendet die Consumer, sobald der Ring leer ist, und verwirft, was
+     * danach noch eingereiht wurde
+     */
+    @Override
+    public void shutdown() {
+        running = false;
+        Thread current = Thread.currentThread();
+        for (Thread consumer : consumers) {
+            if (consumer != current) {
+                try {
+                    consumer.join(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        discardRemaining();
+    }
+}
@@ -0,0 +1,289 @@
+package services;
+
+import core.Service;
+import events.*;
+import storage.AnswerAnalytics;
+import storage.AnswerLog;
+import storage.AnswerRecord;
+import java.io.IOException;
+
+/**
+ * ScoreService - Microservice für Punkte, Level und Serien
+ * Vergibt Punkte für richtige Antworten und steigt alle 5 richtigen
+ * Antworten ein Level auf
+ * 
+ * Mit AnswerLog wird jede Antwort samt Aufgabe, Antwortzeit und neuem
+ * Spielstand angehängt (mmap, Group Commit im Hintergrund - der
+ * Antwort-Pfad wartet nicht auf die Platte). Beim Start wird der Stand
+ * aus dem letzten Datensatz wiederhergestellt. Auswertungen über
+ * beliebige Zeiträume (getSuccessRate(from, to), getAnalytics()) lesen
+ * direkt die Segmente des Logs.
+ * 
+ * SCORE_CHANGED ist ein Zustands-Event und geht asynchron über publish
+ * hinaus, damit subscribeLatest-Abonnenten (UI) nur den jüngsten Stand
+ * verarbeiten. LEVEL_UP bleibt synchron.
+ */
+public class ScoreService implements Service {
+    private final EventBus eventBus;
+    private boolean running;
+    private boolean quiet;
+    
+    private int score = 0;
+    private int level = 1;
+    private int correctAnswers = 0;
+    private int wrongAnswers = 0;
+    private int streak = 0;
+    private int bestStreak = 0;
+    
+    // Persistenz (optional) und die aktuelle Aufgabe für den Datensatz
+    private AnswerLog answerLog;
+    private AnswerAnalytics analytics;
+    private final AnswerRecord record = new AnswerRecord();
+    private long taskTimestamp;
+    private int taskNum1, taskNum2, taskResult;
+    private char taskOperator;
+    
+    // Slots der ausgehenden Events (einmalig aufgelöst)
+    private static final EventSchema SCORE_SCHEMA = EventSchema.forType(GameEvent.SCORE_CHANGED);
+    private static final int SLOT_SCORE = SCORE_SCHEMA.intSlot("score");
+    private static final int SLOT_LEVEL = SCORE_SCHEMA.intSlot("level");
+    private static final int SLOT_STREAK = SCORE_SCHEMA.intSlot("streak");
+    private static final int SLOT_POINTS_EARNED = SCORE_SCHEMA.intSlot("pointsEarned");
+    private static final int SLOT_CORRECT_ANSWERS = SCORE_SCHEMA.intSlot("correctAnswers");
+    private static final int SLOT_WRONG_ANSWERS = SCORE_SCHEMA.intSlot("wrongAnswers");
+    private static final int SLOT_PROGRESS = SCORE_SCHEMA.intSlot("progress");
+    private static final EventSchema LEVEL_SCHEMA = EventSchema.forType(GameEvent.LEVEL_UP);
+    private static final int SLOT_LEVEL_UP_LEVEL = LEVEL_SCHEMA.intSlot("level");
+    private static final int SLOT_LEVEL_UP_SCORE = LEVEL_SCHEMA.intSlot("score");
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_NUM1 = TASK_SCHEMA.intSlot("num1");
+    private static final int SLOT_NUM2 = TASK_SCHEMA.intSlot("num2");
+    private static final int SLOT_RESULT = TASK_SCHEMA.intSlot("result");
+    private static final int SLOT_OPERATOR = TASK_SCHEMA.refSlot("operator");
+    
+    public ScoreService() {
+        this(EventBus.getInstance());
+    }
+    
+    public ScoreService(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        
+        if (answerLog != null) {
+            restore();
+            eventBus.subscribe(GameEvent.NEW_TASK, this::onNewTask);
+        }
+        eventBus.subscribe(GameEvent.ANSWER_CORRECT, this::onCorrectAnswer);
+        eventBus.subscribe(GameEvent.ANSWER_WRONG, this::onWrongAnswer);
+        
+        if (!quiet) {
+            System.out.println("[ScoreService] Started");
+        }
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        if (answerLog != null) {
+            if (!quiet) {
+                System.out.println("[ScoreService] Antwort-Log: " + answerLog.getRecordCount() + " Datensätze");
+            }
+            answerLog.close();
+            answerLog = null;
+        }
+        if (!quiet) {
+            System.out.println("[ScoreService] Stopped");
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "ScoreService";
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private void onCorrectAnswer(GameEvent event) {
+        correctAnswers++;
+        streak++;
+        if (streak > bestStreak) {
+            bestStreak = streak;
+        }
+        
+        // Basis-Punkte nach Level plus Serien-Bonus (max. 25)
+        int basePoints = level * 10;
+        int streakBonus = Math.min(streak, 5) * 5;
+        int points = basePoints + streakBonus;
+        score += points;
+        
+        // Level Up alle 5 richtigen Antworten
+        if (correctAnswers % 5 == 0) {
+            level++;
+            GameEvent levelUp = eventBus.obtain(GameEvent.LEVEL_UP)
+                .setInt(SLOT_LEVEL_UP_LEVEL, level)
+                .setInt(SLOT_LEVEL_UP_SCORE, score);
+            eventBus.publishSync(levelUp);
+        }
+        
+        logAnswer(event, true);
+        
+        GameEvent scoreEvent = eventBus.obtain(GameEvent.SCORE_CHANGED)
+            .setInt(SLOT_SCORE, score)
+            .setInt(SLOT_LEVEL, level)
+            .setInt(SLOT_STREAK, streak)
+            .setInt(SLOT_POINTS_EARNED, points)
+            .setInt(SLOT_CORRECT_ANSWERS, correctAnswers)
+            .setInt(SLOT_PROGRESS, correctAnswers % 5);
+        eventBus.publish(scoreEvent);
+    }
+    
+    private void onWrongAnswer(GameEvent event) {
+        wrongAnswers++;
+        streak = 0;
+        logAnswer(event, false);
+        
+        GameEvent scoreEvent = eventBus.obtain(GameEvent.SCORE_CHANGED)
+            .setInt(SLOT_SCORE, score)
+            .setInt(SLOT_LEVEL, level)
+            .setInt(SLOT_STREAK, streak)
+            .setInt(SLOT_WRONG_ANSWERS, wrongAnswers)
+            .setInt(SLOT_PROGRESS, correctAnswers % 5);
+        eventBus.publish(scoreEvent);
+    }
+    
+    /**
+     * Veröffentlicht den aktuellen Stand als SCORE_CHANGED (z.B. nach der
+     * Wiederherstellung, sobald die UI zuhört)
+     */
+    public void publishScore() {
+        GameEvent scoreEvent = eventBus.obtain(GameEvent.SCORE_CHANGED)
+            .setInt(SLOT_SCORE, score)
+            .setInt(SLOT_LEVEL, level)
+            .setInt(SLOT_STREAK, streak)
+            .setInt(SLOT_CORRECT_ANSWERS, correctAnswers)
+            .setInt(SLOT_WRONG_ANSWERS, wrongAnswers)
+            .setInt(SLOT_PROGRESS, correctAnswers % 5);
+        eventBus.publish(scoreEvent);
+    }
+    
+    /**
+     * Unterdrückt die Statusausgaben (Started/Stopped, Antwort-Log);
+     * Fehler gehen weiter auf System.err
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+    
+    /**
+     * Übernimmt das Log (wird in stop() geschlossen); vor start() setzen
+     */
+    public void setAnswerLog(AnswerLog answerLog) {
+        this.answerLog = answerLog;
+        this.analytics = answerLog != null ? new AnswerAnalytics(answerLog.getDirectory()) : null;
+    }
+    
+    /**
+     * Auswertungen über die gesamte Antwort-Historie, null ohne AnswerLog
+     */
+    public AnswerAnalytics getAnalytics() {
+        return analytics;
+    }
+    
+    private void restore() {
+        if (!answerLog.recover(record)) {
+            return;
+        }
+        score = record.score;
+        level = record.level;
+        streak = record.streak;
+        bestStreak = record.bestStreak;
+        correctAnswers = record.correctAnswers;
+        wrongAnswers = record.wrongAnswers;
+        if (!quiet) {
+            System.out.println("[ScoreService] Spielstand wiederhergestellt: " + score + " Punkte, Level " + level
+                + " (" + answerLog.getRecordCount() + " Antworten im Log)");
+        }
+    }
+    
+    private void onNewTask(GameEvent event) {
+        taskTimestamp = event.getTimestamp();
+        taskNum1 = event.getInt(SLOT_NUM1);
+        taskNum2 = event.getInt(SLOT_NUM2);
+        taskResult = event.getInt(SLOT_RESULT);
+        String operator = event.getRef(SLOT_OPERATOR);
+        taskOperator = operator != null && !operator.isEmpty() ? operator.charAt(0) : '?';
+    }
+    
+    /**
+     * Hängt die Antwort mit dem neuen Stand an das Log an
+     */
+    private void logAnswer(GameEvent event, boolean correct) {
+        if (answerLog == null) {
+            return;
+        }
+        record.timestamp = event.getTimestamp();
+        record.latencyMillis = (int) Math.max(0, Math.min(Integer.MAX_VALUE, event.getTimestamp() - taskTimestamp));
+        record.num1 = taskNum1;
+        record.num2 = taskNum2;
+        record.result = taskResult;
+        record.operator = taskOperator;
+        record.correct = correct;
+        record.score = score;
+        record.level = level;
+        record.streak = streak;
+        record.bestStreak = bestStreak;
+        record.correctAnswers = correctAnswers;
+        record.wrongAnswers = wrongAnswers;
+        try {
+            answerLog.append(record);
+        } catch (IOException e) {
+            System.err.println("[ScoreService] Antwort-Log deaktiviert: " + e.getMessage());
+            answerLog.close();
+            answerLog = null;
+        }
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public int getLevel() {
+        return level;
+    }
+    
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+    
+    public int getWrongAnswers() {
+        return wrongAnswers;
+    }
+    
+    public int getStreak() {
+        return streak;
+    }
+    
+    public int getBestStreak() {
+        return bestStreak;
+    }
+    
+    public double getSuccessRate() {
+        int total = correctAnswers + wrongAnswers;
+        return total > 0 ? correctAnswers * 100.0 / total : 0;
+    }
+    
+    /**
+     * Erfolgsquote in Prozent für Antworten im Zeitraum [fromMillis, toMillis)
+     * aus dem Antwort-Log; ohne Log 0
+     */
+    public double getSuccessRate(long fromMillis, long toMillis) {
+        return analytics != null ? analytics.getSuccessRate(fromMillis, toMillis) : 0;
+    }
+}
@@ -0,0 +1,11 @@
+package core;
+
+/**
+ * Service - Basis-Interface für alle Microservices
+ */
+public interface Service {
+    void start();
+    void stop();
+    String getName();
+    boolean isRunning();
+}
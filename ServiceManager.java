@@ -0,0 +1,111 @@
+package core;
+
+import events.EventBus;
+import events.ExecutionMode;
+import java.util.*;
+
+/**
+ * ServiceManager - Orchestrierung aller Microservices
+ * Registriert, startet und stoppt Services in definierter Reihenfolge
+ */
+public class ServiceManager {
+    private final Map<String, Service> services;
+    private final List<String> startOrder;
+    private final EventBus eventBus;
+    private final boolean quiet;
+    private boolean running;
+    
+    public ServiceManager() {
+        this(EventBus.getInstance());
+    }
+    
+    public ServiceManager(EventBus eventBus) {
+        this(eventBus, false);
+    }
+    
+    /**
+     * @param quiet true: keine Statusausgaben (Registered, Starting...),
+     *        z.B. für viele kurzlebige Sitzungen; Fehler gehen weiter auf System.err
+     */
+    public ServiceManager(EventBus eventBus, boolean quiet) {
+        this.services = new LinkedHashMap<>();
+        this.startOrder = new ArrayList<>();
+        this.eventBus = eventBus;
+        this.quiet = quiet;
+        this.running = false;
+    }
+    
+    public void registerService(Service service) {
+        services.put(service.getName(), service);
+        startOrder.add(service.getName());
+        log("Registered: " + service.getName());
+    }
+    
+    /**
+     * Wählt, auf welchen Threads der EventBus asynchrone Events zustellt.
+     * Sollte vor startAll() gesetzt werden.
+     */
+    public void setExecutionMode(ExecutionMode mode) {
+        eventBus.setExecutionMode(mode);
+        log("Execution mode: " + mode);
+    }
+    
+    public void startAll() {
+        log("Starting all services...");
+        running = true;
+        
+        for (String name : startOrder) {
+            Service service = services.get(name);
+            try {
+                service.start();
+            } catch (Exception e) {
+                System.err.println("[ServiceManager] Failed to start " + name + ": " + e.getMessage());
+            }
+        }
+        
+        log("All services started");
+    }
+    
+    public void stopAll() {
+        log("Stopping all services...");
+        running = false;
+        
+        // Umgekehrte Reihenfolge beim Stoppen
+        Collections.reverse(startOrder);
+        for (String name : startOrder) {
+            Service service = services.get(name);
+            try {
+                service.stop();
+            } catch (Exception e) {
+                System.err.println("[ServiceManager] Failed to stop " + name + ": " + e.getMessage());
+            }
+        }
+        
+        log("All services stopped");
+    }
+    
+    private void log(String message) {
+        if (!quiet) {
+            System.out.println("[ServiceManager] " + message);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T extends Service> T getService(String name) {
+        return (T) services.get(name);
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    public void printStatus() {
+        System.out.println("\n=== SERVICE STATUS ===");
+        for (Map.Entry<String, Service> entry : services.entrySet()) {
+            String status = entry.getValue().isRunning() ? "✓ RUNNING" : "✗ STOPPED";
+            System.out.println(entry.getKey() + ": " + status);
+        }
+        System.out.println("======================");
+        System.out.println(eventBus.getMetrics().dump() + "\n");
+    }
+}
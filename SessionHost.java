@@ -0,0 +1,124 @@
+package server;
+
+import events.EventDispatcher;
+import events.LaneDispatcher;
+import events.OverflowPolicy;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * SessionHost - Viele isolierte Spielsitzungen in einer JVM
+ * 
+ * Alle Sitzungen teilen sich einen Work-Stealing-Pool (FIFO-Modus, ein
+ * Thread pro Kern); jede Sitzung arbeitet ihre Aufträge seriell über
+ * ihre Mailbox ab. Eine wartende Sitzung belegt so keinen Thread, nur
+ * ihren Zustand. Die EventBusse der Sitzungen laufen ohne Metriken und
+ * teilen sich eine Zustell-Engine auf demselben Pool.
+ * 
+ * Sitzungs-IDs sind zufällig (64 Bit), damit Clients nicht fremde
+ * Sitzungen erraten.
+ */
+public class SessionHost {
+    private final ForkJoinPool scheduler;
+    private final EventDispatcher dispatcher;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    
+    public SessionHost() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+    
+    public SessionHost(int parallelism) {
+        scheduler = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        dispatcher = new LaneDispatcher(scheduler, LaneDispatcher.Sharding.PER_SUBSCRIBER, 1024, OverflowPolicy.BLOCK);
+    }
+    
+    /**
+     * Legt eine Sitzung an und stellt ihre erste Aufgabe
+     */
+    public CompletableFuture<GameSession.Snapshot> create(String taskType) {
+        if (!GameSession.TASK_TYPES.contains(taskType)) {
+            throw new IllegalArgumentException("Unbekannter Modus: " + taskType);
+        }
+        String id;
+        GameSession session;
+        do {
+            id = Long.toHexString(random.nextLong());
+            session = new GameSession(id, scheduler, dispatcher);
+        } while (sessions.putIfAbsent(id, session) != null);
+        return session.start(taskType);
+    }
+    
+    /**
+     * @return die Sitzung oder null
+     */
+    public GameSession get(String id) {
+        return sessions.get(id);
+    }
+    
+    /**
+     * Beendet eine Sitzung
+     * @return false, wenn es sie nicht gibt
+     */
+    public boolean close(String id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.stop();
+        return true;
+    }
+    
+    /**
+     * Beendet alle Sitzungen ohne Auftrag seit maxIdleMillis
+     * @return Anzahl beendeter Sitzungen
+     */
+    public int closeIdle(long maxIdleMillis) {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        int closed = 0;
+        for (Iterator<GameSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            GameSession session = it.next();
+            if (session.getLastAccess() < cutoff) {
+                it.remove();
+                session.stop();
+                closed++;
+            }
+        }
+        return closed;
+    }
+    
+    public int getSessionCount() {
+        return sessions.size();
+    }
+    
+    public Collection<GameSession> getSessions() {
+        return sessions.values();
+    }
+    
+    public int getParallelism() {
+        return scheduler.getParallelism();
+    }
+    
+    /**
+     * Summe der wartenden Aufträge aller Mailboxen
+     */
+    public int getQueuedTasks() {
+        int depth = 0;
+        for (GameSession session : sessions.values()) {
+            depth += session.getMailboxDepth();
+        }
+        return depth;
+    }
+    
+    public void shutdown() {
+        for (String id : sessions.keySet()) {
+            close(id);
+        }
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,213 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import events.ExecutionMode;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * SessionServer - HTTP-Frontend des SessionHost für Thin Clients
+ * 
+ * Ein Klassenraum spielt gegen einen Server; jeder Client hält nur die
+ * Sitzungs-ID. Antworten sind JSON (Stand der Sitzung, siehe
+ * GameSession.Snapshot):
+ * 
+ *   POST   /sessions?type=Gemischt            neue Sitzung
+ *   GET    /sessions/{id}                     aktueller Stand
+ *   POST   /sessions/{id}/answer?value=42     Antwort prüfen
+ *   POST   /sessions/{id}/next                neue Aufgabe
+ *   POST   /sessions/{id}/type?value=Division Modus wechseln
+ *   DELETE /sessions/{id}                     Sitzung beenden
+ *   GET    /stats                             Sitzungen, Warteschlange, Heap
+ * 
+ * Requests laufen auf virtuellen Threads (vor JDK 21 auf einem Cached-Pool)
+ * und warten dort auf die Mailbox der Sitzung; die Spiellogik selbst läuft
+ * auf dem Pool des SessionHost.
+ * Sitzungen ohne Request seit --idle-minutes werden beendet.
+ * 
+ * Aufruf: java server.SessionServer [--port=8080] [--threads=KERNE] [--idle-minutes=30]
+ */
+public class SessionServer {
+    private static final long TIMEOUT_SECONDS = 5;
+    
+    private final SessionHost host;
+    private final HttpServer server;
+    
+    public SessionServer(SessionHost host, int port) throws IOException {
+        this.host = host;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = ExecutionMode.newVirtualThreadExecutor();
+        server.setExecutor(executor != null ? executor : Executors.newCachedThreadPool());
+        server.createContext("/sessions", this::handleSessions);
+        server.createContext("/stats", this::handleStats);
+    }
+    
+    public void start() {
+        server.start();
+        System.out.println("[SessionServer] Listening on port " + server.getAddress().getPort()
+            + " (" + host.getParallelism() + " Threads)");
+    }
+    
+    public void stop() {
+        server.stop(0);
+        System.out.println("[SessionServer] Stopped");
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            
+            // path: ["", "sessions", id, action]
+            if (path.length == 2) {
+                if (!method.equals("POST")) {
+                    send(exchange, 405, error("Nur POST"));
+                    return;
+                }
+                GameSession.Snapshot created = await(host.create(query.getOrDefault("type", "Gemischt")));
+                send(exchange, 201, created.toJson());
+                return;
+            }
+            
+            String id = path[2];
+            GameSession session = host.get(id);
+            if (session == null) {
+                send(exchange, 404, error("Sitzung nicht gefunden"));
+                return;
+            }
+            String action = path.length > 3 ? path[3] : "";
+            
+            if (action.isEmpty() && method.equals("GET")) {
+                send(exchange, 200, await(session.state()).toJson());
+            } else if (action.isEmpty() && method.equals("DELETE")) {
+                host.close(id);
+                send(exchange, 204, null);
+            } else if (action.equals("answer") && method.equals("POST")) {
+                int answer = Integer.parseInt(query.getOrDefault("value", ""));
+                send(exchange, 200, await(session.answer(answer)).toJson());
+            } else if (action.equals("next") && method.equals("POST")) {
+                send(exchange, 200, await(session.nextTask()).toJson());
+            } else if (action.equals("type") && method.equals("POST")) {
+                send(exchange, 200, await(session.setTaskType(query.getOrDefault("value", ""))).toJson());
+            } else {
+                send(exchange, 404, error("Unbekannte Aktion"));
+            }
+        } catch (IllegalArgumentException e) {
+            // auch NumberFormatException
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RejectedExecutionException | TimeoutException e) {
+            send(exchange, 503, error("Sitzung ausgelastet"));
+        } catch (Exception e) {
+            System.err.println("[SessionServer] Request fehlgeschlagen: " + e);
+            send(exchange, 500, error("Interner Fehler"));
+        }
+    }
+    
+    private void handleStats(HttpExchange exchange) throws IOException {
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        String json = "{\"sessions\":" + host.getSessionCount()
+            + ",\"queuedTasks\":" + host.getQueuedTasks()
+            + ",\"threads\":" + host.getParallelism()
+            + ",\"heapUsedBytes\":" + heap + "}";
+        send(exchange, 200, json);
+    }
+    
+    /**
+     * Wartet auf das Ergebnis der Mailbox; Fehler des Auftrags werden
+     * unverpackt weitergereicht
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+    
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+    
+    private static String error(String message) {
+        return "{\"error\":\"" + String.valueOf(message).replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+    
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long idleMinutes = 30;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--idle-minutes=")) {
+                idleMinutes = Long.parseLong(arg.substring("--idle-minutes=".length()));
+            } else {
+                throw new IllegalArgumentException("Unbekannte Option: " + arg);
+            }
+        }
+        
+        SessionHost host = new SessionHost(threads);
+        SessionServer server = new SessionServer(host, port);
+        
+        ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SessionReaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long idleMillis = TimeUnit.MINUTES.toMillis(idleMinutes);
+        reaper.scheduleAtFixedRate(() -> {
+            int closed = host.closeIdle(idleMillis);
+            if (closed > 0) {
+                System.out.println("[SessionServer] " + closed + " inaktive Sitzungen beendet");
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reaper.shutdownNow();
+            server.stop();
+            host.shutdown();
+        }));
+        server.start();
+    }
+}
@@ -0,0 +1,311 @@
+package bench;
+
+import core.Service;
+import core.ServiceManager;
+import events.*;
+import services.ScoreService;
+import services.TaskService;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SimulationRunner - Lasttest der Spiellogik ohne Swing
+ * 
+ * Startet viele Spielsitzungen gleichzeitig, jede mit eigenem EventBus
+ * und ServiceManager (TaskService, ScoreService und ein Bot anstelle von
+ * UIService/RenderService). Die Events tragen keine Sitzungs-ID, daher
+ * ein Bus pro Sitzung; die Busse eines Shards teilen sich eine
+ * Zustell-Engine, damit nicht jede Sitzung einen Thread-Pool startet.
+ * 
+ * Jeder Shard hat einen Treiber-Thread, der seine Sitzungen nach
+ * Fälligkeit abarbeitet. Alles läuft über publishSync wie in der UI -
+ * die Handler einer Sitzung laufen also immer auf ihrem Shard-Thread.
+ * Ausnahme ist SCORE_CHANGED: der Bot hält wie die UI eine Punkteanzeige
+ * per subscribeLatest, die auf der Zustell-Engine läuft.
+ * Der Bot antwortet nach latency * [0.5, 1.5) mit Wahrscheinlichkeit
+ * correct richtig, sonst falsch; nach einer falschen Antwort versucht
+ * er es erneut.
+ * 
+ * Ausgabe: Events/s (alle Busse), Antworten/s, Handler-Latenz p50/p99/max,
+ * SCORE_CHANGED veröffentlicht/zugestellt/zusammengefasst und Heap (pro
+ * Sitzung nach dem Aufbau, am Ende belegt).
+ * 
+ * Aufruf: java -Djava.awt.headless=true bench.SimulationRunner
+ *         [--sessions=N] [--shards=N] [--correct=0..1] [--latency=MILLIS]
+ *         [--duration=SEKUNDEN] [--type=Gemischt]
+ */
+public class SimulationRunner {
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_RESULT = TASK_SCHEMA.intSlot("result");
+    private static final EventSchema SCORE_SCHEMA = EventSchema.forType(GameEvent.SCORE_CHANGED);
+    private static final int SLOT_SCORE = SCORE_SCHEMA.intSlot("score");
+    
+    private int sessionCount = 2_000;
+    private int shardCount = Runtime.getRuntime().availableProcessors();
+    private double correctRate = 0.8;
+    private long latencyMillis = 1_500;
+    private int durationSeconds = 10;
+    private String taskType = "Gemischt";
+    
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        SimulationRunner runner = new SimulationRunner();
+        for (String arg : args) {
+            if (arg.startsWith("--sessions=")) {
+                runner.sessionCount = Integer.parseInt(arg.substring("--sessions=".length()));
+            } else if (arg.startsWith("--shards=")) {
+                runner.shardCount = Integer.parseInt(arg.substring("--shards=".length()));
+            } else if (arg.startsWith("--correct=")) {
+                runner.correctRate = Double.parseDouble(arg.substring("--correct=".length()));
+            } else if (arg.startsWith("--latency=")) {
+                runner.latencyMillis = Long.parseLong(arg.substring("--latency=".length()));
+            } else if (arg.startsWith("--duration=")) {
+                runner.durationSeconds = Integer.parseInt(arg.substring("--duration=".length()));
+            } else if (arg.startsWith("--type=")) {
+                runner.taskType = arg.substring("--type=".length());
+            } else {
+                throw new IllegalArgumentException("Unbekannte Option: " + arg);
+            }
+        }
+        runner.run();
+    }
+    
+    private void run() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.out.printf("sessions=%d shards=%d correct=%.2f latency=%dms duration=%ds type=%s%n",
+            sessionCount, shardCount, correctRate, latencyMillis, durationSeconds, taskType);
+        
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        Shard[] shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        for (int i = 0; i < sessionCount; i++) {
+            shards[i % shardCount].add(new Session(i));
+        }
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+        System.out.printf("setup: heap=%.1fMB (%.1fKB/session)%n",
+            heapAfter / 1e6, (heapAfter - heapBefore) / 1e3 / Math.max(1, sessionCount));
+        
+        long eventsBefore = publishedEvents(shards);
+        long deadline = System.nanoTime() + durationSeconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(shardCount);
+        long start = System.nanoTime();
+        for (Shard shard : shards) {
+            Thread thread = new Thread(() -> {
+                try {
+                    shard.drive(deadline);
+                } finally {
+                    done.countDown();
+                }
+            }, "Simulation-" + shard.index);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long heapEnd = memory.getHeapMemoryUsage().getUsed();
+        
+        long events = publishedEvents(shards) - eventsBefore;
+        long answers = 0, correct = 0;
+        long scorePublished = 0, scoreHandled = 0, scoreCoalesced = 0;
+        LatencyHistogram latency = new LatencyHistogram();
+        for (Shard shard : shards) {
+            for (Session session : shard.sessions) {
+                answers += session.player.answers;
+                correct += session.player.correct;
+                EventBusMetrics metrics = session.bus.getMetrics();
+                latency.add(metrics.getHandlerLatency());
+                scorePublished += metrics.getPublishedCounts().getOrDefault(GameEvent.SCORE_CHANGED, 0L);
+                scoreHandled += session.player.scoreUpdates;
+                scoreCoalesced += metrics.getCoalescedCount();
+            }
+        }
+        System.out.printf("events=%d (%.0f/s) answers=%d (%.0f/s, %.1f%% richtig)%n",
+            events, events / seconds, answers, answers / seconds, answers > 0 ? correct * 100.0 / answers : 0);
+        System.out.printf("handler latency: p50=%.1fus p99=%.1fus max=%.1fus (%d calls)%n",
+            latency.getPercentile(50) / 1000.0, latency.getPercentile(99) / 1000.0,
+            latency.getMax() / 1000.0, latency.getCount());
+        System.out.printf("score updates: published=%d handled=%d coalesced=%d%n",
+            scorePublished, scoreHandled, scoreCoalesced);
+        System.out.printf("heap: end=%.1fMB max=%.1fMB%n",
+            heapEnd / 1e6, memory.getHeapMemoryUsage().getMax() / 1e6);
+        
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+    
+    private static long publishedEvents(Shard[] shards) {
+        long total = 0;
+        for (Shard shard : shards) {
+            for (Session session : shard.sessions) {
+                for (long count : session.bus.getMetrics().getPublishedCounts().values()) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Sitzungen eines Treiber-Threads mit gemeinsamer Zustell-Engine
+     */
+    private final class Shard {
+        final int index;
+        final EventDispatcher dispatcher = new LaneDispatcher(1024, OverflowPolicy.BLOCK);
+        final List<Session> sessions = new ArrayList<>();
+        final PriorityQueue<Session> due = new PriorityQueue<>(
+            Comparator.comparingLong((Session s) -> s.player.dueAt));
+        
+        Shard(int index) {
+            this.index = index;
+        }
+        
+        void add(Session session) {
+            session.start(dispatcher);
+            sessions.add(session);
+            due.add(session);
+        }
+        
+        void drive(long deadline) {
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                Session next = due.peek();
+                if (next == null) {
+                    return;
+                }
+                if (next.player.dueAt > now) {
+                    LockSupport.parkNanos(Math.min(next.player.dueAt, deadline) - now);
+                    continue;
+                }
+                due.poll();
+                next.player.answer();
+                due.add(next);
+            }
+        }
+        
+        void stop() {
+            for (Session session : sessions) {
+                session.manager.stopAll();
+            }
+            dispatcher.shutdown();
+        }
+    }
+    
+    /**
+     * Eine Spielsitzung: eigener Bus, eigene Services
+     */
+    private final class Session {
+        final int id;
+        EventBus bus;
+        ServiceManager manager;
+        SimulatedPlayer player;
+        
+        Session(int id) {
+            this.id = id;
+        }
+        
+        void start(EventDispatcher dispatcher) {
+            bus = new EventBus(dispatcher);
+            TaskService taskService = new TaskService(bus);
+            // Keine Pipeline: ein Hintergrund-Thread pro Sitzung wäre der Engpass
+            taskService.setLookahead(0);
+            taskService.setTaskType(taskType);
+            // Keine Statusausgaben (Started, Registered, ...) je Sitzung
+            taskService.setQuiet(true);
+            ScoreService scoreService = new ScoreService(bus);
+            scoreService.setQuiet(true);
+            player = new SimulatedPlayer(bus, taskService, new Random(id));
+            
+            manager = new ServiceManager(bus, true);
+            manager.registerService(taskService);
+            manager.registerService(scoreService);
+            manager.registerService(player);
+            manager.startAll();
+            bus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
+        }
+    }
+    
+    /**
+     * Bot anstelle von UIService: merkt sich die Lösung aus NEW_TASK und
+     * antwortet wie submitAnswer() der UI
+     */
+    private final class SimulatedPlayer implements Service {
+        private final EventBus eventBus;
+        private final TaskService taskService;
+        private final Random random;
+        private boolean running;
+        private int result;
+        
+        long dueAt;
+        long answers;
+        long correct;
+        
+        // Punkteanzeige, läuft auf der Zustell-Engine
+        volatile int score;
+        volatile long scoreUpdates;
+        
+        SimulatedPlayer(EventBus eventBus, TaskService taskService, Random random) {
+            this.eventBus = eventBus;
+            this.taskService = taskService;
+            this.random = random;
+        }
+        
+        @Override
+        public void start() {
+            running = true;
+            eventBus.subscribe(GameEvent.NEW_TASK, this::onNewTask);
+            eventBus.subscribeLatest(GameEvent.SCORE_CHANGED, this::onScoreChanged);
+        }
+        
+        @Override
+        public void stop() {
+            running = false;
+        }
+        
+        @Override
+        public String getName() {
+            return "SimulatedPlayer";
+        }
+        
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+        
+        private void onNewTask(GameEvent event) {
+            result = event.getInt(SLOT_RESULT);
+            think();
+        }
+        
+        private void onScoreChanged(GameEvent event) {
+            score = event.getInt(SLOT_SCORE);
+            scoreUpdates++;
+        }
+        
+        private void think() {
+            long millis = (long) (latencyMillis * (0.5 + random.nextDouble()));
+            dueAt = System.nanoTime() + millis * 1_000_000;
+        }
+        
+        void answer() {
+            int answer = random.nextDouble() < correctRate ? result : result + 1;
+            answers++;
+            if (taskService.checkAnswer(answer)) {
+                correct++;
+                eventBus.publishSync(new GameEvent(GameEvent.ANSWER_CORRECT));
+                // Neue Aufgabe sofort statt nach der Pause der UI; onNewTask plant die nächste Antwort
+                eventBus.publishSync(new GameEvent("REQUEST_NEW_TASK"));
+            } else {
+                eventBus.publishSync(new GameEvent(GameEvent.ANSWER_WRONG));
+                think();
+            }
+        }
+    }
+}
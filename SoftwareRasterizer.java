@@ -0,0 +1,387 @@
+package rendering;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * SoftwareRasterizer - Rasterisiert die Voxel-Szene direkt in ein int[]
+ * 
+ * Die Szene wird einmal projiziert und in Kacheln (TILE x TILE Pixel)
+ * einsortiert. Jede Kachel zeichnet Hintergrund und ihre Voxel in
+ * Tiefenreihenfolge selbst - ohne Überschneidung mit anderen Kacheln,
+ * daher parallel auf dem ForkJoinPool und mit deterministischem Ergebnis.
+ * Das fertige Bild wird pro Frame einmal per drawImage ausgegeben.
+ * 
+ * Hintergrund und Grid liegen vorberechnet in einem eigenen Buffer und
+ * werden pro Kachel zeilenweise kopiert. Bei einem Teil-Repaint werden
+ * nur die Kacheln neu gezeichnet, die den Clip-Bereich berühren.
+ */
+final class SoftwareRasterizer {
+    private static final int TILE = 64;
+    private static final int TILES_PER_TASK = 4;
+    
+    private static final int BLACK = 0xFF000000;
+    private static final int GRID_RGB = 0x323250;   // Color(50, 50, 80)
+    private static final int GRID_ALPHA = 100;
+    private static final int HIGHLIGHT_ALPHA = 100;
+    
+    private final int width, height;
+    private final int tilesX, tilesY;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final ForkJoinPool pool;
+    private boolean paletteDithering;
+    
+    // Hintergrund inkl. Grid-Linien, einmalig berechnet
+    private final int[] background;
+    
+    // Neu zu zeichnender Kachelbereich (inklusive)
+    private int dirtyTileX0, dirtyTileY0, dirtyTileX1, dirtyTileY1;
+    
+    // Projizierte Szene in Zeichenreihenfolge
+    private int voxelCount;
+    private int[] screenX = new int[64], screenY = new int[64], size = new int[64];
+    private int[] topColor = new int[64], leftColor = new int[64], rightColor = new int[64];
+    private boolean[] highlight = new boolean[64];
+    
+    // Voxel pro Kachel: tileStart[t] .. tileStart[t + 1] in tileVoxels
+    private final int[] tileStart;
+    private int[] tileVoxels = new int[256];
+    
+    SoftwareRasterizer(int width, int height, int pixelSize, ForkJoinPool pool) {
+        this.width = width;
+        this.height = height;
+        this.tilesX = (width + TILE - 1) / TILE;
+        this.tilesY = (height + TILE - 1) / TILE;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.pool = pool;
+        this.tileStart = new int[tilesX * tilesY + 1];
+        this.background = new int[width * height];
+        renderBackground(pixelSize);
+    }
+    
+    /**
+     * Farbverlauf und Grid wie Retro3DRenderer.renderBackground
+     * (senkrechte, dann waagerechte Linien)
+     */
+    private void renderBackground(int pixelSize) {
+        int band = pixelSize * 2;
+        for (int y = 0; y < height; y += band) {
+            int bgColor = PaletteQuantizer.blend(Retro3DRenderer.BACKGROUND_TOP, Retro3DRenderer.BACKGROUND_BOTTOM, (double) y / height);
+            int rgb = PaletteQuantizer.quantize(bgColor);
+            Arrays.fill(background, y * width, Math.min(height, y + band) * width, rgb);
+        }
+        for (int x = 0; x < width; x += 20) {
+            for (int y = 0; y < height; y++) {
+                background[y * width + x] = blend(background[y * width + x], GRID_RGB, GRID_ALPHA);
+            }
+        }
+        for (int y = 0; y < height; y += 20) {
+            for (int x = 0; x < width; x++) {
+                background[y * width + x] = blend(background[y * width + x], GRID_RGB, GRID_ALPHA);
+            }
+        }
+    }
+    
+    BufferedImage getImage() {
+        return image;
+    }
+    
+    /**
+     * Übernimmt die projizierte Position eines Voxels (in Zeichenreihenfolge)
+     */
+    void beginScene() {
+        voxelCount = 0;
+    }
+    
+    void addProjected(int x, int y, int voxelSize, Color color, boolean highlighted) {
+        if (voxelCount == screenX.length) {
+            int capacity = voxelCount * 2;
+            screenX = Arrays.copyOf(screenX, capacity);
+            screenY = Arrays.copyOf(screenY, capacity);
+            size = Arrays.copyOf(size, capacity);
+            topColor = Arrays.copyOf(topColor, capacity);
+            leftColor = Arrays.copyOf(leftColor, capacity);
+            rightColor = Arrays.copyOf(rightColor, capacity);
+            highlight = Arrays.copyOf(highlight, capacity);
+        }
+        int i = voxelCount++;
+        int r = color.getRed(), g = color.getGreen(), b = color.getBlue();
+        screenX[i] = x;
+        screenY[i] = y;
+        size[i] = voxelSize;
+        topColor[i] = rgb(r, g, b);
+        leftColor[i] = rgb((int) (r * 0.7), (int) (g * 0.7), (int) (b * 0.7));
+        rightColor[i] = rgb((int) (r * 0.5), (int) (g * 0.5), (int) (b * 0.5));
+        highlight[i] = highlighted;
+    }
+    
+    /**
+     * Rasterisiert alle Kacheln parallel
+     * @param paletteDithering Kacheln danach auf die Palette reduzieren
+     */
+    void render(boolean paletteDithering) {
+        render(paletteDithering, 0, 0, width, height);
+    }
+    
+    /**
+     * Rasterisiert nur die Kacheln, die den Bereich (x, y, w, h) berühren -
+     * der Rest des Bildes behält den Stand des letzten Frames
+     */
+    void render(boolean paletteDithering, int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0 || x >= width || y >= height || x + w <= 0 || y + h <= 0) {
+            return;
+        }
+        this.paletteDithering = paletteDithering;
+        dirtyTileX0 = clampTile(x, tilesX);
+        dirtyTileY0 = clampTile(y, tilesY);
+        dirtyTileX1 = clampTile(x + w - 1, tilesX);
+        dirtyTileY1 = clampTile(y + h - 1, tilesY);
+        binVoxels();
+        pool.invoke(new TileTask(0, tilesX * tilesY));
+    }
+    
+    private boolean isDirty(int tile) {
+        int tx = tile % tilesX;
+        int ty = tile / tilesX;
+        return tx >= dirtyTileX0 && tx <= dirtyTileX1 && ty >= dirtyTileY0 && ty <= dirtyTileY1;
+    }
+    
+    /**
+     * Sortiert die Voxel stabil in die Kacheln, die ihr Umriss berührt
+     */
+    private void binVoxels() {
+        int tileCount = tilesX * tilesY;
+        Arrays.fill(tileStart, 0);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < voxelCount; i++) {
+                int half = size[i] / 2;
+                int quarter = size[i] / 4;
+                int tx0 = clampTile(screenX[i] - half - 1, tilesX);
+                int tx1 = clampTile(screenX[i] + half + 1, tilesX);
+                int ty0 = clampTile(screenY[i] - quarter - 1, tilesY);
+                int ty1 = clampTile(screenY[i] + quarter + half + 1, tilesY);
+                for (int ty = ty0; ty <= ty1; ty++) {
+                    for (int tx = tx0; tx <= tx1; tx++) {
+                        int t = ty * tilesX + tx;
+                        if (pass == 0) {
+                            tileStart[t + 1]++;
+                        } else {
+                            tileVoxels[tileStart[t]++] = i;
+                        }
+                    }
+                }
+            }
+            if (pass == 0) {
+                for (int t = 0; t < tileCount; t++) {
+                    tileStart[t + 1] += tileStart[t];
+                }
+                if (tileVoxels.length < tileStart[tileCount]) {
+                    tileVoxels = new int[tileStart[tileCount] * 2];
+                }
+            }
+        }
+        // Pass 2 hat jeden Start auf das Ende geschoben - zurückrücken
+        for (int t = tileCount; t > 0; t--) {
+            tileStart[t] = tileStart[t - 1];
+        }
+        tileStart[0] = 0;
+    }
+    
+    private static int clampTile(int coordinate, int tiles) {
+        return Math.max(0, Math.min(tiles - 1, Math.floorDiv(coordinate, TILE)));
+    }
+    
+    private void renderTile(int tile) {
+        int x0 = (tile % tilesX) * TILE;
+        int y0 = (tile / tilesX) * TILE;
+        int x1 = Math.min(width, x0 + TILE);
+        int y1 = Math.min(height, y0 + TILE);
+        
+        // Hintergrund und Grid-Linien
+        for (int y = y0; y < y1; y++) {
+            System.arraycopy(background, y * width + x0, pixels, y * width + x0, x1 - x0);
+        }
+        
+        for (int n = tileStart[tile]; n < tileStart[tile + 1]; n++) {
+            renderVoxel(tileVoxels[n], x0, y0, x1, y1);
+        }
+        
+        if (paletteDithering) {
+            PaletteQuantizer.quantize(pixels, width, x0, y0, x1, y1, true);
+        }
+    }
+    
+    private void renderVoxel(int i, int x0, int y0, int x1, int y1) {
+        int x = screenX[i], y = screenY[i];
+        int half = size[i] / 2;
+        int quarter = size[i] / 4;
+        
+        // Rechte Seite
+        fillQuad(x, y + quarter, x + half, y, x + half, y + half, x, y + quarter + half,
+            rightColor[i], 255, x0, y0, x1, y1);
+        outlineQuad(x, y + quarter, x + half, y, x + half, y + half, x, y + quarter + half, x0, y0, x1, y1);
+        
+        // Linke Seite
+        fillQuad(x - half, y, x, y + quarter, x, y + quarter + half, x - half, y + half,
+            leftColor[i], 255, x0, y0, x1, y1);
+        outlineQuad(x - half, y, x, y + quarter, x, y + quarter + half, x - half, y + half, x0, y0, x1, y1);
+        
+        // Oberseite
+        fillQuad(x, y - quarter, x + half, y, x, y + quarter, x - half, y,
+            topColor[i], 255, x0, y0, x1, y1);
+        outlineQuad(x, y - quarter, x + half, y, x, y + quarter, x - half, y, x0, y0, x1, y1);
+        
+        if (highlight[i]) {
+            fillQuad(x, y - quarter, x + half, y, x, y + quarter, x - half, y,
+                0xFFFFFF, HIGHLIGHT_ALPHA, x0, y0, x1, y1);
+        }
+    }
+    
+    /**
+     * Füllt ein konvexes Viereck: ein Pixel gehört dazu, wenn sein
+     * Mittelpunkt innen liegt (wie Graphics2D.fillPolygon).
+     * Mit alpha < 255 wird die Farbe überblendet statt deckend gesetzt.
+     */
+    private void fillQuad(int ax, int ay, int bx, int by, int cx, int cy, int dx, int dy,
+                          int argb, int alpha, int x0, int y0, int x1, int y1) {
+        int minY = Math.max(y0, Math.min(Math.min(ay, by), Math.min(cy, dy)));
+        int maxY = Math.min(y1, Math.max(Math.max(ay, by), Math.max(cy, dy)));
+        for (int y = minY; y < maxY; y++) {
+            float sy = y + 0.5f;
+            // Schnittpunkte der Scanline mit den vier Kanten (NaN: keiner)
+            float e1 = intersect(ax, ay, bx, by, sy);
+            float e2 = intersect(bx, by, cx, cy, sy);
+            float e3 = intersect(cx, cy, dx, dy, sy);
+            float e4 = intersect(dx, dy, ax, ay, sy);
+            float left = lower(lower(lower(lower(Float.POSITIVE_INFINITY, e1), e2), e3), e4);
+            float right = upper(upper(upper(upper(Float.NEGATIVE_INFINITY, e1), e2), e3), e4);
+            int from = Math.max(x0, (int) Math.ceil(left - 0.5f));
+            int to = Math.min(x1, (int) Math.ceil(right - 0.5f));
+            int row = y * width;
+            if (alpha < 255) {
+                for (int x = from; x < to; x++) {
+                    pixels[row + x] = blend(pixels[row + x], argb, alpha);
+                }
+            } else if (from < to) {
+                Arrays.fill(pixels, row + from, row + to, argb);
+            }
+        }
+    }
+    
+    /**
+     * x-Koordinate, an der die Kante die Höhe sy kreuzt (halboffen), sonst NaN
+     */
+    private static float intersect(int ax, int ay, int bx, int by, float sy) {
+        if ((ay <= sy) == (by <= sy)) {
+            return Float.NaN;
+        }
+        return ax + (sy - ay) * (bx - ax) / (by - ay);
+    }
+    
+    // Minimum/Maximum, die NaN (keine Kreuzung) übergehen
+    private static float lower(float current, float value) {
+        return value < current ? value : current;
+    }
+    
+    private static float upper(float current, float value) {
+        return value > current ? value : current;
+    }
+    
+    /**
+     * Schwarzer Umriss mit 2 Pixel Breite (wie BasicStroke(2))
+     */
+    private void outlineQuad(int ax, int ay, int bx, int by, int cx, int cy, int dx, int dy,
+                             int x0, int y0, int x1, int y1) {
+        line(ax, ay, bx, by, x0, y0, x1, y1);
+        line(bx, by, cx, cy, x0, y0, x1, y1);
+        line(cx, cy, dx, dy, x0, y0, x1, y1);
+        line(dx, dy, ax, ay, x0, y0, x1, y1);
+    }
+    
+    /**
+     * Bresenham-Linie mit 2x2-Pinsel, auf die Kachel beschnitten
+     */
+    private void line(int ax, int ay, int bx, int by, int x0, int y0, int x1, int y1) {
+        // Kachel nicht berührt: ganze Linie überspringen
+        if (Math.max(ax, bx) < x0 - 1 || Math.min(ax, bx) > x1 || Math.max(ay, by) < y0 - 1 || Math.min(ay, by) > y1) {
+            return;
+        }
+        int dx = Math.abs(bx - ax), sx = ax < bx ? 1 : -1;
+        int dy = -Math.abs(by - ay), sy = ay < by ? 1 : -1;
+        int err = dx + dy;
+        int x = ax, y = ay;
+        while (true) {
+            for (int py = y - 1; py <= y; py++) {
+                if (py < y0 || py >= y1) {
+                    continue;
+                }
+                for (int px = x - 1; px <= x; px++) {
+                    if (px >= x0 && px < x1) {
+                        pixels[py * width + px] = BLACK;
+                    }
+                }
+            }
+            if (x == bx && y == by) {
+                break;
+            }
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+        }
+    }
+    
+    /**
+     * SrcOver einer Farbe mit Alpha (0..255) auf ein deckendes Pixel
+     */
+    private static int blend(int dst, int rgb, int alpha) {
+        int inv = 255 - alpha;
+        int r = (((rgb >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * inv + 127) / 255;
+        int g = (((rgb >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * inv + 127) / 255;
+        int b = ((rgb & 0xFF) * alpha + (dst & 0xFF) * inv + 127) / 255;
+        return rgb(r, g, b);
+    }
+    
+    private static int rgb(int r, int g, int b) {
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+    
+    /**
+     * Teilt den Kachelbereich, bis höchstens TILES_PER_TASK übrig sind
+     */
+    private final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from, to;
+        
+        TileTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= TILES_PER_TASK) {
+                for (int tile = from; tile < to; tile++) {
+                    if (isDirty(tile)) {
+                        renderTile(tile);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(from, mid), new TileTask(mid, to));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SoundBank - Vorab synthetisierte Soundeffekte als PCM-Puffer
+ * 
+ * Jeder Effekt wird beim Definieren einmal komplett berechnet und danach
+ * nur noch gelesen. Abspielen kostet so keine Synthese und keine
+ * Allokation mehr. Die Samples liegen mit voller Amplitude vor, die
+ * Lautstärke wendet der AudioMixer beim Mischen an.
+ * 
+ * Format: 44.1 kHz, 8 Bit signed, mono
+ */
+public class SoundBank {
+    public static final int SAMPLE_RATE = 44100;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 8, 1, true, false);
+    
+    // Amplitude der Rechteckwelle bei Lautstärke 1.0
+    static final int AMPLITUDE = 40;
+    
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<byte[]> samples = new ArrayList<>();
+    
+    /**
+     * Definiert einen Effekt als Folge von Rechteck-Tönen
+     * @param frequencies Frequenzen in Hz
+     * @param durations Dauer je Ton in Millisekunden
+     * @return ID des Effekts
+     */
+    public synchronized int define(String name, int[] frequencies, int[] durations) {
+        int length = 0;
+        for (int duration : durations) {
+            length += SAMPLE_RATE * duration / 1000;
+        }
+        byte[] pcm = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < frequencies.length; i++) {
+            offset += generateSquareWave(pcm, offset, frequencies[i], durations[i]);
+        }
+        return define(name, pcm);
+    }
+    
+    /**
+     * Übernimmt fertige Samples im Format FORMAT
+     * @return ID des Effekts
+     */
+    public synchronized int define(String name, byte[] pcm) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            samples.set(id, pcm);
+            return id;
+        }
+        samples.add(pcm);
+        ids.put(name, samples.size() - 1);
+        return samples.size() - 1;
+    }
+    
+    /**
+     * @return ID des Effekts oder -1, wenn er unbekannt ist
+     */
+    public synchronized int id(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+    
+    public synchronized byte[] samples(int id) {
+        return samples.get(id);
+    }
+    
+    public synchronized int size() {
+        return samples.size();
+    }
+    
+    /**
+     * Rechteckwelle mit kurzem Einschwingen (erstes Zehntel) und
+     * Ausklingen (letztes Viertel) gegen Knacken
+     * @return Anzahl geschriebener Samples
+     */
+    private static int generateSquareWave(byte[] pcm, int offset, int frequency, int duration) {
+        int samples = SAMPLE_RATE * duration / 1000;
+        double period = (double) SAMPLE_RATE / frequency;
+        int attack = samples / 10;
+        int release = samples / 4;
+        
+        for (int i = 0; i < samples; i++) {
+            double phase = i % period;
+            int value = phase < period / 2 ? AMPLITUDE : -AMPLITUDE;
+            
+            double envelope = 1.0;
+            if (i < attack) {
+                envelope = (double) i / attack;
+            } else if (i > samples - release) {
+                envelope = (double) (samples - i) / release;
+            }
+            pcm[offset + i] = (byte) (value * envelope);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,106 @@
+package rendering;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SpriteCache - Vorgerenderte isometrische Würfel
+ * 
+ * Form und Schattierung eines Würfels hängen nur von Größe, Farbe und
+ * Highlight ab - die Rotation verschiebt lediglich seine Bildposition.
+ * Jeder Würfel wird daher einmal in ein kompatibles Bild gezeichnet und
+ * danach per drawImage geblittet. Die am längsten unbenutzten Sprites
+ * werden verdrängt (LRU), sobald die Kapazität erreicht ist.
+ * 
+ * Nicht thread-sicher: gedacht für den Render-Thread (EDT).
+ */
+final class SpriteCache {
+    // Rand für den 2px-Umriss um die Würfelkanten
+    private static final int MARGIN = 2;
+    
+    private final Map<Key, BufferedImage> sprites;
+    private final Key probe = new Key();
+    
+    SpriteCache(int capacity) {
+        this.sprites = new LinkedHashMap<Key, BufferedImage>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Zeichnet den Würfel mit Mittelpunkt (screenX, screenY) der Oberseite
+     */
+    void draw(Graphics2D g2d, int screenX, int screenY, int size, Color color, boolean highlight) {
+        probe.set(size, color.getRGB(), highlight);
+        BufferedImage sprite = sprites.get(probe);
+        if (sprite == null) {
+            sprite = render(g2d.getDeviceConfiguration(), size, color, highlight);
+            Key key = new Key();
+            key.set(size, color.getRGB(), highlight);
+            sprites.put(key, sprite);
+        }
+        g2d.drawImage(sprite, screenX - originX(size), screenY - originY(size), null);
+    }
+    
+    private static int originX(int size) {
+        return size / 2 + MARGIN;
+    }
+    
+    private static int originY(int size) {
+        return size / 4 + MARGIN;
+    }
+    
+    private static BufferedImage render(GraphicsConfiguration config, int size, Color color, boolean highlight) {
+        int width = (size / 2) * 2 + 2 * MARGIN + 1;
+        int height = size / 4 + size / 4 + size / 2 + 2 * MARGIN + 1;
+        BufferedImage sprite = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        Retro3DRenderer.drawCube(g, originX(size), originY(size), size, color, highlight);
+        g.dispose();
+        return sprite;
+    }
+    
+    int size() {
+        return sprites.size();
+    }
+    
+    void clear() {
+        sprites.clear();
+    }
+    
+    /**
+     * Schlüssel (Größe, Farbe, Highlight) - als wiederverwendbare Probe
+     * für get(), damit Treffer nichts allokieren
+     */
+    private static final class Key {
+        private int size;
+        private int rgb;
+        private boolean highlight;
+        
+        void set(int size, int rgb, boolean highlight) {
+            this.size = size;
+            this.rgb = rgb;
+            this.highlight = highlight;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return size == other.size && rgb == other.rgb && highlight == other.highlight;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (size * 31 + rgb) * 2 + (highlight ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Subscription - Verbindung zwischen Event-Typ und Handler
+ * Wird vom EventBus angelegt und an den EventDispatcher übergeben.
+ * 
+ * Coalescing-Subscriptions (subscribeLatest) brauchen nur das jüngste
+ * Event pro Schlüssel: noch nicht zugestellte Events werden ersetzt,
+ * statt weitere Zustellungen einzuplanen.
+ * 
+ * Batch-Subscriptions (subscribeBatch) sammeln wartende Events und
+ * erhalten sie gesammelt in einem einzigen Handler-Aufruf.
+ * 
+ * Ohne Metriken (EventBus mit metricsEnabled = false) entfällt das
+ * Latenz-Histogramm samt nanoTime-Aufrufen.
+ */
+public final class Subscription {
+    private final String eventType;
+    private final Consumer<GameEvent> handler;
+    private final boolean coalescing;
+    private final Function<GameEvent, Object> keyFunction;
+    private final AtomicReference<GameEvent> latest;
+    private final Map<Object, GameEvent> latestByKey;
+    private final boolean blocking;
+    private final Consumer<List<GameEvent>> batchHandler;
+    private final List<GameEvent> pending;
+    
+    // Metriken (siehe EventBusMetrics)
+    private final String name;
+    private final LatencyHistogram latency;
+    private final LongAdder coalesced = new LongAdder();
+    
+    Subscription(String eventType, Consumer<GameEvent> handler, boolean measured) {
+        this(eventType, handler, false, null, false, measured);
+    }
+    
+    Subscription(String eventType, Consumer<GameEvent> handler, boolean coalescing, Function<GameEvent, Object> keyFunction,
+                 boolean blocking, boolean measured) {
+        this(eventType, handler, null, coalescing, keyFunction, blocking, measured);
+    }
+    
+    private Subscription(String eventType, Consumer<GameEvent> handler, Consumer<List<GameEvent>> batchHandler,
+                         boolean coalescing, Function<GameEvent, Object> keyFunction, boolean blocking, boolean measured) {
+        this.eventType = eventType;
+        this.handler = handler;
+        this.batchHandler = batchHandler;
+        this.pending = batchHandler != null ? new ArrayList<>() : null;
+        this.blocking = blocking;
+        this.coalescing = coalescing;
+        this.keyFunction = keyFunction;
+        this.latest = coalescing && keyFunction == null ? new AtomicReference<>() : null;
+        this.latestByKey = coalescing && keyFunction != null ? new ConcurrentHashMap<>() : null;
+        this.name = eventType + " -> " + ownerName(handler != null ? handler : batchHandler);
+        this.latency = measured ? new LatencyHistogram() : null;
+    }
+    
+    static Subscription batch(String eventType, Consumer<List<GameEvent>> batchHandler, boolean measured) {
+        return new Subscription(eventType, null, batchHandler, false, null, false, measured);
+    }
+    
+    /**
+     * Klasse, in der der Handler definiert wurde (ohne Lambda-Suffix)
+     */
+    private static String ownerName(Object handler) {
+        String className = handler.getClass().getName();
+        int lambda = className.indexOf("$$Lambda");
+        if (lambda >= 0) {
+            className = className.substring(0, lambda);
+        }
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+    
+    public boolean isBatch() {
+        return batchHandler != null;
+    }
+    
+    /**
+     * Handler blockiert (I/O, Sound) und soll im ExecutionMode.VIRTUAL
+     * auf virtuellen Threads laufen
+     */
+    public boolean isBlocking() {
+        return blocking;
+    }
+    
+    /**
+     * Anzeigename für Metriken: "EVENT_TYPE -> Klasse des Handlers"
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * @return Handler-Latenzen, null wenn der Bus ohne Metriken läuft
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+    
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+    
+    /**
+     * Merkt ein Event für die asynchrone Zustellung vor
+     * @return true, wenn eine Zustellung eingeplant werden muss; false,
+     *         wenn ein noch wartendes Event ersetzt wurde bzw. der
+     *         wartende Batch es mitnimmt
+     */
+    boolean offer(GameEvent event) {
+        if (batchHandler != null) {
+            event.retain();
+            synchronized (pending) {
+                pending.add(event);
+                return pending.size() == 1;
+            }
+        }
+        if (!coalescing) {
+            return true;
+        }
+        // Der Slot hält eine eigene Referenz auf gepoolte Events
+        event.retain();
+        GameEvent replaced = latest != null ? latest.getAndSet(event) : latestByKey.put(keyFunction.apply(event), event);
+        if (replaced != null) {
+            coalesced.increment();
+            replaced.release();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Asynchrone Zustellung durch den Dispatcher. Bei Coalescing wird
+     * statt des übergebenen das jüngste Event zum selben Schlüssel
+     * zugestellt - oder nichts, falls es bereits zugestellt wurde.
+     * Bei Batch-Subscriptions gehen alle wartenden Events in einem
+     * Aufruf an den Handler.
+     * Gibt die Referenz des Dispatchers auf das Event danach frei.
+     */
+    public void deliver(GameEvent event) {
+        try {
+            if (batchHandler != null) {
+                deliverPending();
+                return;
+            }
+            if (!coalescing) {
+                invoke(event);
+                return;
+            }
+            GameEvent newest = latest != null ? latest.getAndSet(null) : latestByKey.remove(keyFunction.apply(event));
+            if (newest != null) {
+                try {
+                    invoke(newest);
+                } finally {
+                    newest.release();
+                }
+            }
+        } finally {
+            event.release();
+        }
+    }
+    
+    /**
+     * Gegenstück zu deliver, wenn der Dispatcher die Zustellung verwirft
+     * (Überlauf, beendeter Executor): wartende Events des Slots bzw. des
+     * Batches werden freigegeben, sonst würde offer() nie wieder einplanen.
+     * Gibt die Referenz des Dispatchers auf das Event frei.
+     */
+    void discard(GameEvent event) {
+        try {
+            if (batchHandler != null) {
+                List<GameEvent> batch;
+                synchronized (pending) {
+                    batch = new ArrayList<>(pending);
+                    pending.clear();
+                }
+                for (GameEvent pendingEvent : batch) {
+                    pendingEvent.release();
+                }
+            } else if (coalescing) {
+                GameEvent newest = latest != null ? latest.getAndSet(null) : latestByKey.remove(keyFunction.apply(event));
+                if (newest != null) {
+                    newest.release();
+                }
+            }
+        } finally {
+            event.release();
+        }
+    }
+    
+    private void deliverPending() {
+        List<GameEvent> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        long start = latency != null ? System.nanoTime() : 0;
+        try {
+            batchHandler.accept(Collections.unmodifiableList(batch));
+        } finally {
+            if (latency != null) {
+                latency.record(System.nanoTime() - start);
+            }
+            for (GameEvent pendingEvent : batch) {
+                pendingEvent.release();
+            }
+        }
+    }
+    
+    /**
+     * Wie deliver, Fehler des Handlers werden aber nur protokolliert -
+     * für Worker-Threads der Dispatcher, die weiterlaufen müssen
+     */
+    void deliverSafely(GameEvent event) {
+        try {
+            deliver(event);
+        } catch (RuntimeException e) {
+            System.err.println("[EventBus] Handler für " + eventType + " fehlgeschlagen: " + e);
+        }
+    }
+    
+    /**
+     * Ruft den Handler auf und misst seine Laufzeit.
+     * Direkt genutzt von publishSync - ohne Coalescing.
+     */
+    void invoke(GameEvent event) {
+        long start = latency != null ? System.nanoTime() : 0;
+        try {
+            if (batchHandler != null) {
+                batchHandler.accept(Collections.singletonList(event));
+            } else {
+                handler.accept(event);
+            }
+        } finally {
+            if (latency != null) {
+                latency.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package services;
+
+import rendering.VoxelScene;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TaskPipeline - Erzeugt die nächsten Aufgaben im Hintergrund vorab
+ * 
+ * Ein Producer-Thread hält eine begrenzte Queue mit den nächsten
+ * Aufgaben für den aktuellen Aufgabentyp und die Schwierigkeit gefüllt,
+ * samt fertig aufgebauter und vorsortierter VoxelScene. Der Wechsel zur
+ * nächsten Aufgabe ist damit nur noch ein poll().
+ * 
+ * Jede Änderung der Parameter (configure) legt ein neues Settings-Objekt
+ * an und leert die Queue. Einträge, die noch mit alten Settings entstehen,
+ * erkennt poll() an der Identität und verwirft sie.
+ */
+final class TaskPipeline {
+    
+    /**
+     * Eine erzeugte Aufgabe; scene ist null, wenn sie synchron entstand
+     */
+    static final class Task {
+        final int num1, num2, result;
+        final String operator;
+        final String taskType;
+        VoxelScene scene;
+        Settings settings;
+        
+        Task(int num1, int num2, int result, String operator, String taskType) {
+            this.num1 = num1;
+            this.num2 = num2;
+            this.result = result;
+            this.operator = operator;
+            this.taskType = taskType;
+        }
+    }
+    
+    interface Generator {
+        Task generate(String taskType, int difficulty);
+    }
+    
+    private static final class Settings {
+        final String taskType;
+        final int difficulty;
+        
+        Settings(String taskType, int difficulty) {
+            this.taskType = taskType;
+            this.difficulty = difficulty;
+        }
+    }
+    
+    private final BlockingQueue<Task> queue;
+    private final Generator generator;
+    private final TaskService.SceneFactory sceneFactory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile Settings settings;
+    private volatile boolean running;
+    private Thread producer;
+    
+    /**
+     * @param lookahead Anzahl vorab erzeugter Aufgaben
+     * @param sceneFactory baut die Szene zur Aufgabe, null = ohne Szene
+     */
+    TaskPipeline(int lookahead, Generator generator, TaskService.SceneFactory sceneFactory) {
+        this.queue = new ArrayBlockingQueue<>(lookahead);
+        this.generator = generator;
+        this.sceneFactory = sceneFactory;
+    }
+    
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        producer = new Thread(this::produce, "TaskPipeline");
+        producer.setDaemon(true);
+        producer.start();
+    }
+    
+    synchronized void stop() {
+        running = false;
+        if (producer != null) {
+            producer.interrupt();
+            producer = null;
+        }
+        queue.clear();
+    }
+    
+    /**
+     * Neue Parameter: verwirft alle vorbereiteten Aufgaben
+     */
+    synchronized void configure(String taskType, int difficulty) {
+        settings = new Settings(taskType, difficulty);
+        queue.clear();
+        notifyAll();
+    }
+    
+    /**
+     * @return nächste vorbereitete Aufgabe oder null, wenn (noch) keine
+     *         zu den aktuellen Parametern bereitliegt
+     */
+    Task poll() {
+        Settings current = settings;
+        Task task;
+        while ((task = queue.poll()) != null) {
+            if (task.settings == current) {
+                hits.incrementAndGet();
+                return task;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    long getHits() {
+        return hits.get();
+    }
+    
+    long getMisses() {
+        return misses.get();
+    }
+    
+    private void produce() {
+        try {
+            while (running) {
+                Settings current = awaitSettings();
+                Task task = generator.generate(current.taskType, current.difficulty);
+                task.settings = current;
+                if (sceneFactory != null) {
+                    task.scene = sceneFactory.prepare(task.num1, task.num2, task.operator);
+                }
+                // Wartet, solange die Queue voll ist - gibt auf, wenn die Parameter wechseln
+                boolean queued = false;
+                while (running && current == settings && !queued) {
+                    queued = queue.offer(task, 50, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Ohne Producer entstehen alle Aufgaben wieder synchron
+            System.err.println("[TaskPipeline] Error: " + e.getMessage());
+            running = false;
+        }
+    }
+    
+    private synchronized Settings awaitSettings() throws InterruptedException {
+        while (settings == null) {
+            wait();
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,305 @@
+package services;
+
+import core.Service;
+import events.*;
+import rendering.VoxelScene;
+import java.util.Random;
+
+/**
+ * TaskService - Microservice für die Aufgaben-Generierung
+ * Erzeugt Rechenaufgaben passend zu Modus und Schwierigkeit
+ * 
+ * Die nächsten Aufgaben bereitet eine TaskPipeline im Hintergrund vor
+ * (retro.taskLookahead, Standard 3, 0 = aus). Mit gesetzter SceneFactory
+ * reisen sie samt fertiger Szene im NEW_TASK-Event.
+ * 
+ * Im Modus "Adaptiv" wählt AdaptiveDifficulty Rechenart und Zahlenbereich
+ * nach den Schwächen des Spielers. Gemessen wird in checkAnswer(): Zeit
+ * seit Anzeige der Aufgabe und ob die erste Antwort stimmte. Vorbereitete
+ * Aufgaben beruhen auf dem Modell von vor bis zu LOOKAHEAD Antworten.
+ */
+public class TaskService implements Service {
+    
+    /**
+     * Baut die Szene zu einer Aufgabe, aufgerufen vom Pipeline-Thread
+     */
+    public interface SceneFactory {
+        VoxelScene prepare(int num1, int num2, String operator);
+    }
+    
+    private static final int LOOKAHEAD = Integer.getInteger("retro.taskLookahead", 3);
+    
+    private final EventBus eventBus;
+    private final Random random;
+    private boolean running;
+    private boolean quiet;
+    
+    // Aktuelle Aufgabe
+    private int currentNum1, currentNum2, currentResult;
+    private String currentOperator;
+    private String taskType = "Addition";
+    private int difficulty = 1;
+    
+    // Slots des NEW_TASK-Events (einmalig aufgelöst)
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_NUM1 = TASK_SCHEMA.intSlot("num1");
+    private static final int SLOT_NUM2 = TASK_SCHEMA.intSlot("num2");
+    private static final int SLOT_RESULT = TASK_SCHEMA.intSlot("result");
+    private static final int SLOT_OPERATOR = TASK_SCHEMA.refSlot("operator");
+    private static final int SLOT_TASK_TYPE = TASK_SCHEMA.refSlot("taskType");
+    private static final int SLOT_SCENE = TASK_SCHEMA.refSlot("scene");
+    
+    private SceneFactory sceneFactory;
+    private TaskPipeline pipeline;
+    private int lookahead = LOOKAHEAD;
+    
+    // Lernstand - Zugriff nur synchronisiert (EDT und Pipeline-Thread)
+    private final AdaptiveDifficulty adaptive = new AdaptiveDifficulty();
+    private long taskShownAt;
+    private boolean answered;
+    
+    public TaskService() {
+        this(EventBus.getInstance());
+    }
+    
+    public TaskService(EventBus eventBus) {
+        this.eventBus = eventBus;
+        this.random = new Random();
+        this.running = false;
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        
+        eventBus.subscribe(GameEvent.ANSWER_CORRECT, this::onAnswerCorrect);
+        eventBus.subscribe(GameEvent.LEVEL_UP, this::onLevelUp);
+        eventBus.subscribe("TASK_TYPE_CHANGED", this::onTaskTypeChanged);
+        eventBus.subscribe("REQUEST_NEW_TASK", e -> generateNewTask());
+        
+        if (lookahead > 0) {
+            pipeline = new TaskPipeline(lookahead, this::createTask, sceneFactory);
+            pipeline.configure(taskType, difficulty);
+            pipeline.start();
+        }
+        
+        if (!quiet) {
+            System.out.println("[TaskService] Started");
+        }
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        if (pipeline != null) {
+            pipeline.stop();
+            if (!quiet) {
+                System.out.println("[TaskService] Pipeline: " + pipeline.getHits() + " vorbereitet, "
+                    + pipeline.getMisses() + " synchron");
+            }
+            pipeline = null;
+        }
+        if (quiet) {
+            return;
+        }
+        synchronized (adaptive) {
+            String summary = adaptive.toString();
+            if (!summary.isEmpty()) {
+                System.out.print("[TaskService] Lernstand:\n" + summary);
+            }
+        }
+        System.out.println("[TaskService] Stopped");
+    }
+    
+    @Override
+    public String getName() {
+        return "TaskService";
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Generiert eine neue Aufgabe und veröffentlicht sie als NEW_TASK.
+     * Liegt eine vorbereitete Aufgabe bereit, wird nur sie übernommen.
+     */
+    public void generateNewTask() {
+        TaskPipeline.Task task = pipeline != null ? pipeline.poll() : null;
+        if (task == null) {
+            task = createTask(taskType, difficulty);
+        }
+        currentNum1 = task.num1;
+        currentNum2 = task.num2;
+        currentResult = task.result;
+        currentOperator = task.operator;
+        taskShownAt = System.nanoTime();
+        answered = false;
+        
+        GameEvent event = eventBus.obtain(GameEvent.NEW_TASK)
+            .setInt(SLOT_NUM1, currentNum1)
+            .setInt(SLOT_NUM2, currentNum2)
+            .setRef(SLOT_OPERATOR, currentOperator)
+            .setInt(SLOT_RESULT, currentResult)
+            .setRef(SLOT_TASK_TYPE, task.taskType)
+            .setRef(SLOT_SCENE, task.scene);
+        eventBus.publishSync(event);
+    }
+    
+    /**
+     * Erzeugt eine Aufgabe zu Typ und Schwierigkeit (thread-sicher, auch
+     * vom Pipeline-Thread genutzt)
+     */
+    private TaskPipeline.Task createTask(String taskType, int difficulty) {
+        // Zahlenbereich wächst mit der Schwierigkeit
+        int maxNum = 10 + (difficulty - 1) * 5;
+        // Kleinster Wert des größten Operanden (nur im adaptiven Modus > 1)
+        int minNum = 1;
+        
+        String type = taskType;
+        if (type.equals("Gemischt")) {
+            type = AdaptiveDifficulty.TASK_TYPES[random.nextInt(AdaptiveDifficulty.TASK_TYPES.length)];
+        } else if (type.equals("Adaptiv")) {
+            int cell;
+            synchronized (adaptive) {
+                cell = adaptive.pickCell(random, maxNum);
+            }
+            int range = cell % AdaptiveDifficulty.RANGES;
+            type = AdaptiveDifficulty.TASK_TYPES[cell / AdaptiveDifficulty.RANGES];
+            minNum = AdaptiveDifficulty.minOperand(range);
+            maxNum = AdaptiveDifficulty.maxOperand(range);
+        }
+        
+        int num1 = 0, num2 = 0, result = 0;
+        String operator = null;
+        int cap;
+        
+        switch (type) {
+            case "Addition":
+                num1 = randomBetween(minNum, maxNum);
+                num2 = random.nextInt(maxNum) + 1;
+                operator = "+";
+                result = num1 + num2;
+                break;
+            case "Subtraktion":
+                num1 = randomBetween(minNum, maxNum);
+                num2 = random.nextInt(num1) + 1;
+                operator = "-";
+                result = num1 - num2;
+                break;
+            case "Multiplikation":
+                cap = Math.min(12, maxNum);
+                num1 = randomBetween(Math.min(minNum, cap), cap);
+                num2 = random.nextInt(cap) + 1;
+                operator = "×";
+                result = num1 * num2;
+                break;
+            case "Division":
+                // Nur ganzzahlige Ergebnisse
+                cap = Math.min(10, maxNum);
+                num2 = random.nextInt(cap) + 1;
+                result = randomBetween(Math.min(minNum, cap), cap);
+                num1 = num2 * result;
+                operator = "÷";
+                break;
+        }
+        return new TaskPipeline.Task(num1, num2, result, operator, type);
+    }
+    
+    private int randomBetween(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+    
+    /**
+     * Prüft die Antwort; die erste Antwort je Aufgabe geht mit Antwortzeit
+     * in den Lernstand ein
+     */
+    public boolean checkAnswer(int answer) {
+        boolean correct = answer == currentResult;
+        if (!answered && currentOperator != null) {
+            answered = true;
+            long latencyMillis = (System.nanoTime() - taskShownAt) / 1_000_000;
+            int operator = AdaptiveDifficulty.operatorIndex(currentOperator);
+            int range = AdaptiveDifficulty.rangeIndex(largestOperand());
+            synchronized (adaptive) {
+                adaptive.record(operator, range, latencyMillis, correct);
+            }
+        }
+        return correct;
+    }
+    
+    /**
+     * Größter Operand der aktuellen Aufgabe - bei Division Teiler oder Quotient
+     */
+    private int largestOperand() {
+        if (currentOperator.equals("÷")) {
+            return Math.max(currentNum2, currentResult);
+        }
+        return Math.max(currentNum1, currentNum2);
+    }
+    
+    public AdaptiveDifficulty getAdaptiveDifficulty() {
+        return adaptive;
+    }
+    
+    public int getCurrentResult() {
+        return currentResult;
+    }
+    
+    private void onAnswerCorrect(GameEvent event) {
+        // Neue Aufgabe wird von der UI angefordert
+    }
+    
+    private void onLevelUp(GameEvent event) {
+        difficulty = event.getInt("level");
+        reconfigurePipeline();
+    }
+    
+    private void onTaskTypeChanged(GameEvent event) {
+        taskType = event.getString("taskType");
+        reconfigurePipeline();
+        generateNewTask();
+    }
+    
+    public void setTaskType(String type) {
+        this.taskType = type;
+        reconfigurePipeline();
+    }
+    
+    /**
+     * Setzt die Schwierigkeit (= Level), z.B. nach wiederhergestelltem Spielstand
+     */
+    public void setDifficulty(int difficulty) {
+        this.difficulty = difficulty;
+        reconfigurePipeline();
+    }
+    
+    /**
+     * Anzahl vorab erzeugter Aufgaben, 0 = ohne Pipeline-Thread; wirkt ab
+     * dem nächsten start()
+     */
+    public void setLookahead(int lookahead) {
+        this.lookahead = lookahead;
+    }
+    
+    /**
+     * Unterdrückt die Statusausgaben (Started/Stopped, Pipeline, Lernstand)
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+    
+    /**
+     * Setzt die Factory für vorbereitete Szenen; wirkt ab dem nächsten start()
+     */
+    public void setSceneFactory(SceneFactory sceneFactory) {
+        this.sceneFactory = sceneFactory;
+    }
+    
+    private void reconfigurePipeline() {
+        if (pipeline != null) {
+            pipeline.configure(taskType, difficulty);
+        }
+    }
+}
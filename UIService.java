@@ -6,6 +6,8 @@ import rendering.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
 
 /**
  * UIService - Microservice für die Benutzeroberfläche
@@ -23,17 +25,43 @@ public class UIService implements Service {
     // Aktueller Spielzustand (von Events)
     private int currentNum1 = 0, currentNum2 = 0;
     private String currentOperator = "+";
-    private int currentScore = 0;
-    private int currentLevel = 1;
-    private int currentStreak = 0;
-    private int progress = 0;
+    private volatile int currentScore = 0;
+    private volatile int currentLevel = 1;
+    private volatile int currentStreak = 0;
+    private volatile int progress = 0;
     private String feedbackText = "";
     private Color feedbackColor = Color.WHITE;
     
+    // Jeden Frame das ganze Panel neu zeichnen statt nur geänderte Bereiche
+    // (-Dretro.fullRepaint=true bzw. --full-repaint)
+    private final boolean fullRepaint = Boolean.getBoolean("retro.fullRepaint");
+    
+    // Aktiver Render-Modus: eigener Thread mit BufferStrategy statt Swing-Timer
+    // (-Dretro.activeRender=true bzw. --active-render, Bildrate über retro.fps)
+    private final boolean activeRender = Boolean.getBoolean("retro.activeRender");
+    private final int targetFps = Integer.getInteger("retro.fps", 60);
+    private final FrameStats frameStats = new FrameStats();
+    private Canvas canvas;
+    private GameLoop gameLoop;
+    private Timer renderTimer;
+    // Rotation vor und nach dem letzten Simulationsschritt (Interpolation)
+    private double previousRotation, currentRotation;
+    
     private final RenderService renderService;
     private final TaskService taskService;
     private final AudioService audioService;
     
+    // Slots der typisierten Events (einmalig aufgelöst)
+    private static final EventSchema TASK_SCHEMA = EventSchema.forType(GameEvent.NEW_TASK);
+    private static final int SLOT_NUM1 = TASK_SCHEMA.intSlot("num1");
+    private static final int SLOT_NUM2 = TASK_SCHEMA.intSlot("num2");
+    private static final int SLOT_OPERATOR = TASK_SCHEMA.refSlot("operator");
+    private static final EventSchema SCORE_SCHEMA = EventSchema.forType(GameEvent.SCORE_CHANGED);
+    private static final int SLOT_SCORE = SCORE_SCHEMA.intSlot("score");
+    private static final int SLOT_LEVEL = SCORE_SCHEMA.intSlot("level");
+    private static final int SLOT_STREAK = SCORE_SCHEMA.intSlot("streak");
+    private static final int SLOT_PROGRESS = SCORE_SCHEMA.intSlot("progress");
+    
     public UIService(RenderService renderService, TaskService taskService, AudioService audioService) {
         this.eventBus = EventBus.getInstance();
         this.renderService = renderService;
@@ -47,7 +75,7 @@ public class UIService implements Service {
         
         // Event Subscriptions
         eventBus.subscribe(GameEvent.NEW_TASK, this::onNewTask);
-        eventBus.subscribe(GameEvent.SCORE_CHANGED, this::onScoreChanged);
+        eventBus.subscribeLatest(GameEvent.SCORE_CHANGED, this::onScoreChanged);
         eventBus.subscribe(GameEvent.LEVEL_UP, this::onLevelUp);
         eventBus.subscribe(GameEvent.ANSWER_CORRECT, e -> showFeedback("RICHTIG!", new Color(50, 255, 50)));
         eventBus.subscribe(GameEvent.ANSWER_WRONG, e -> showFeedback("FALSCH! = " + taskService.getCurrentResult(), new Color(255, 50, 50)));
@@ -60,6 +88,15 @@ public class UIService implements Service {
     @Override
     public void stop() {
         running = false;
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        if (renderTimer != null) {
+            renderTimer.stop();
+        }
+        if (frameStats.getFrameCount() > 0) {
+            System.out.println("[UIService] Frames: " + frameStats);
+        }
         if (frame != null) {
             frame.dispose();
         }
@@ -85,7 +122,15 @@ public class UIService implements Service {
         frame.getContentPane().setBackground(Color.BLACK);
         
         mainPanel = new RetroPanel();
-        frame.add(mainPanel, BorderLayout.CENTER);
+        if (activeRender) {
+            // Das Panel zeichnet nur noch in die BufferStrategy der Canvas
+            canvas = new Canvas();
+            canvas.setIgnoreRepaint(true);
+            canvas.setBackground(Color.BLACK);
+            frame.add(canvas, BorderLayout.CENTER);
+        } else {
+            frame.add(mainPanel, BorderLayout.CENTER);
+        }
         
         // Control Panel unten
         JPanel controlPanel = createControlPanel();
@@ -94,8 +139,77 @@ public class UIService implements Service {
         frame.setVisible(true);
         
         // Render Loop starten
-        Timer renderTimer = new Timer(16, e -> mainPanel.repaint()); // ~60 FPS
-        renderTimer.start();
+        if (activeRender) {
+            canvas.createBufferStrategy(2);
+            currentRotation = previousRotation = renderService.getRenderer().getRotation();
+            gameLoop = new GameLoop(this::updateActive, this::renderActive, targetFps, frameStats);
+            gameLoop.start();
+            System.out.println("[UIService] Active rendering, target " + (targetFps > 0 ? targetFps + " fps" : "unlimited"));
+        } else {
+            renderTimer = new Timer(16, e -> renderFrame()); // ~60 FPS
+            renderTimer.start();
+        }
+    }
+    
+    /**
+     * Ein Frame: Animation fortschreiben, dann nur neu zeichnen, was sich
+     * in der 3D-Szene geändert hat. Das UI-Overlay meldet seine Bereiche
+     * selbst über die Event-Handler an.
+     */
+    private void renderFrame() {
+        frameStats.frame(System.nanoTime());
+        renderService.update();
+        if (fullRepaint) {
+            mainPanel.repaint();
+            return;
+        }
+        Rectangle dirty = renderService.getRenderer().getDirtyRegion();
+        if (dirty != null) {
+            mainPanel.repaint(dirty);
+        }
+    }
+    
+    /**
+     * Simulationsschritt der GameLoop (Render-Thread)
+     */
+    private void updateActive() {
+        Retro3DRenderer renderer = renderService.getRenderer();
+        previousRotation = renderer.getRotation();
+        renderService.update();
+        currentRotation = renderer.getRotation();
+    }
+    
+    /**
+     * Zeichnet einen Frame in die BufferStrategy, mit der Rotation
+     * zwischen den letzten beiden Simulationsschritten interpoliert
+     */
+    private void renderActive(double alpha) {
+        Retro3DRenderer renderer = renderService.getRenderer();
+        renderer.setRotation(previousRotation + (currentRotation - previousRotation) * alpha);
+        try {
+            BufferStrategy strategy = canvas.getBufferStrategy();
+            do {
+                do {
+                    Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        mainPanel.paintFrame(g2d, canvas.getWidth(), canvas.getHeight());
+                    } finally {
+                        g2d.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+        } finally {
+            renderer.setRotation(currentRotation);
+        }
+    }
+    
+    /**
+     * Frame-Zeiten des Swing-Timers bzw. der GameLoop
+     */
+    public FrameStats getFrameStats() {
+        return frameStats;
     }
     
     private JPanel createControlPanel() {
@@ -109,7 +223,7 @@ public class UIService implements Service {
         typeLabel.setForeground(new Color(150, 150, 200));
         typeLabel.setFont(new Font("Monospaced", Font.BOLD, 14));
         
-        String[] types = {"Addition", "Subtraktion", "Multiplikation", "Division", "Gemischt"};
+        String[] types = {"Addition", "Subtraktion", "Multiplikation", "Division", "Gemischt", "Adaptiv"};
         typeSelector = new JComboBox<>(types);
         typeSelector.setFont(new Font("Monospaced", Font.BOLD, 12));
         typeSelector.setBackground(new Color(40, 40, 60));
@@ -210,46 +324,100 @@ public class UIService implements Service {
             
             inputField.setText("");
             inputField.requestFocus();
-            
+        
         } catch (NumberFormatException e) {
             showFeedback("NUR ZAHLEN!", new Color(255, 200, 0));
         }
     }
     
     private void onNewTask(GameEvent event) {
-        currentNum1 = event.getInt("num1");
-        currentNum2 = event.getInt("num2");
-        currentOperator = event.getString("operator");
+        currentNum1 = event.getInt(SLOT_NUM1);
+        currentNum2 = event.getInt(SLOT_NUM2);
+        currentOperator = event.getRef(SLOT_OPERATOR);
         feedbackText = "";
+        repaintRegions(RetroPanel.TASK, RetroPanel.HELP);
     }
     
     private void onScoreChanged(GameEvent event) {
-        currentScore = event.getInt("score");
-        currentLevel = event.getInt("level");
-        currentStreak = event.getInt("streak");
-        progress = event.getInt("progress");
+        currentScore = event.getInt(SLOT_SCORE);
+        currentLevel = event.getInt(SLOT_LEVEL);
+        currentStreak = event.getInt(SLOT_STREAK);
+        progress = event.getInt(SLOT_PROGRESS);
+        repaintRegions(RetroPanel.SCORE, RetroPanel.LEVEL);
     }
     
     private void onLevelUp(GameEvent event) {
         currentLevel = event.getInt("level");
+        repaintRegions(RetroPanel.LEVEL);
         showFeedback("LEVEL UP! → " + currentLevel, new Color(255, 215, 0));
     }
     
     private void showFeedback(String text, Color color) {
         feedbackText = text;
         feedbackColor = color;
+        repaintRegions(RetroPanel.TASK);
+    }
+    
+    /**
+     * Markiert Overlay-Bereiche zum Neuzeichnen (aus beliebigem Thread)
+     */
+    private void repaintRegions(int... regions) {
+        RetroPanel panel = mainPanel;
+        if (panel == null) {
+            return;
+        }
+        for (int region : regions) {
+            panel.repaint(panel.regionBounds(region));
+        }
     }
     
     /**
      * Haupt-Render-Panel mit 8-bit Grafik
+     * 
+     * Vignette und Scanlines liegen als fertige Layer vor und werden nur
+     * bei einer Größenänderung neu erzeugt. Gezeichnet wird jeweils nur
+     * der Clip-Bereich des Repaints.
      */
     class RetroPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        
+        // Overlay-Bereiche für repaintRegions
+        static final int SCORE = 0, LEVEL = 1, TASK = 2, HELP = 3;
+        // Überstand von Glow-Text und Rahmen über die Panels
+        private static final int GLOW_MARGIN = 8;
+        
         private int scanlineOffset = 0;
+        private int frameWidth, frameHeight;
+        // Nur Caches, werden bei Bedarf neu erzeugt
+        private transient BufferedImage vignetteLayer;
+        private transient BufferedImage scanlineLayer;
+        
+        Rectangle regionBounds(int region) {
+            int w = getWidth();
+            int h = getHeight();
+            switch (region) {
+                case SCORE: return new Rectangle(20 - GLOW_MARGIN, 70 - GLOW_MARGIN, 180 + 2 * GLOW_MARGIN, 100 + 2 * GLOW_MARGIN);
+                case LEVEL: return new Rectangle(w - 200 - GLOW_MARGIN, 70 - GLOW_MARGIN, 180 + 2 * GLOW_MARGIN, 100 + 2 * GLOW_MARGIN);
+                // Aufgaben-Panel (taskY - 20) bis Feedback-Zeile (taskY + 55)
+                case TASK: return new Rectangle(0, h - 200 - GLOW_MARGIN, w, 110 + 2 * GLOW_MARGIN);
+                case HELP: return new Rectangle(0, 200 - GLOW_MARGIN, w, 16 + 2 * GLOW_MARGIN);
+                default: return new Rectangle(0, 0, w, h);
+            }
+        }
         
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
+            paintFrame((Graphics2D) g, getWidth(), getHeight());
+        }
+        
+        /**
+         * Zeichnet einen kompletten Frame - für paintComponent und für
+         * die BufferStrategy des aktiven Render-Modus
+         */
+        void paintFrame(Graphics2D g2d, int width, int height) {
+            frameWidth = width;
+            frameHeight = height;
             
             // Keine Antialiasing für Pixelart-Look
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
@@ -257,10 +425,10 @@ public class UIService implements Service {
             
             // Hintergrund
             g2d.setColor(new Color(15, 15, 25));
-            g2d.fillRect(0, 0, getWidth(), getHeight());
+            g2d.fillRect(0, 0, frameWidth, frameHeight);
             
-            // 3D Szene rendern
-            renderService.render(g2d);
+            // 3D Szene rendern (update() läuft im Timer bzw. der GameLoop, nicht pro Repaint)
+            renderService.getRenderer().render(g2d);
             
             // UI Overlay
             drawUI(g2d);
@@ -273,7 +441,7 @@ public class UIService implements Service {
         }
         
         private void drawUI(Graphics2D g2d) {
-            int centerX = getWidth() / 2;
+            int centerX = frameWidth / 2;
             
             // Titel
             RetroFont.drawGlowText(g2d, "RETRO MATH", centerX - RetroFont.getTextWidth("RETRO MATH", 4) / 2, 20, 4, new Color(0, 200, 255));
@@ -285,13 +453,13 @@ public class UIService implements Service {
             RetroFont.drawText(g2d, "STREAK " + currentStreak, 35, 145, 2, new Color(200, 100, 255));
             
             // Level Panel (rechts oben)
-            drawPanel(g2d, getWidth() - 200, 70, 180, 100);
-            RetroFont.drawText(g2d, "LEVEL", getWidth() - 185, 85, 2, new Color(150, 150, 200));
-            RetroFont.drawGlowText(g2d, String.valueOf(currentLevel), getWidth() - 185, 110, 4, new Color(0, 255, 100));
+            drawPanel(g2d, frameWidth - 200, 70, 180, 100);
+            RetroFont.drawText(g2d, "LEVEL", frameWidth - 185, 85, 2, new Color(150, 150, 200));
+            RetroFont.drawGlowText(g2d, String.valueOf(currentLevel), frameWidth - 185, 110, 4, new Color(0, 255, 100));
             
             // Progress Bar
             int barWidth = 140;
-            int barX = getWidth() - 185;
+            int barX = frameWidth - 185;
             int barY = 150;
             g2d.setColor(new Color(50, 50, 70));
             g2d.fillRect(barX, barY, barWidth, 12);
@@ -303,7 +471,7 @@ public class UIService implements Service {
             // Aufgabe (Mitte unten)
             String taskText = currentNum1 + " " + currentOperator + " " + currentNum2 + " = ?";
             int taskWidth = RetroFont.getTextWidth(taskText, 5);
-            int taskY = getHeight() - 180;
+            int taskY = frameHeight - 180;
             
             // Aufgaben-Hintergrund
             drawPanel(g2d, centerX - taskWidth/2 - 30, taskY - 20, taskWidth + 60, 70);
@@ -345,26 +513,50 @@ public class UIService implements Service {
             g2d.drawRect(x + 2, y + 2, width - 4, height - 4);
         }
         
+        /**
+         * Ein Layer mit Linien bei y = 0, 4, 8, ... (4 Pixel höher als das
+         * Panel), um scanlineOffset - 4 versetzt gezeichnet - deckt alle
+         * vier Phasen ab. Bei Teil-Repaints steht die Phase still, sonst
+         * passten benachbarte Bereiche nicht mehr zusammen.
+         */
         private void drawScanlines(Graphics2D g2d) {
-            g2d.setColor(new Color(0, 0, 0, 30));
-            for (int y = scanlineOffset; y < getHeight(); y += 4) {
-                g2d.drawLine(0, y, getWidth(), y);
+            if (scanlineLayer == null || scanlineLayer.getWidth() != frameWidth || scanlineLayer.getHeight() != frameHeight + 4) {
+                scanlineLayer = createLayer(g2d, frameWidth, frameHeight + 4);
+                Graphics2D g = scanlineLayer.createGraphics();
+                g.setColor(new Color(0, 0, 0, 30));
+                for (int y = 0; y < scanlineLayer.getHeight(); y += 4) {
+                    g.drawLine(0, y, frameWidth, y);
+                }
+                g.dispose();
+            }
+            g2d.drawImage(scanlineLayer, 0, scanlineOffset - 4, null);
+            if (fullRepaint || activeRender) {
+                scanlineOffset = (scanlineOffset + 1) % 4;
             }
-            scanlineOffset = (scanlineOffset + 1) % 4;
         }
         
         private void drawVignette(Graphics2D g2d) {
-            int centerX = getWidth() / 2;
-            int centerY = getHeight() / 2;
-            float radius = Math.max(getWidth(), getHeight()) * 0.8f;
-            
-            RadialGradientPaint vignette = new RadialGradientPaint(
-                centerX, centerY, radius,
-                new float[] {0.5f, 1.0f},
-                new Color[] {new Color(0, 0, 0, 0), new Color(0, 0, 0, 150)}
-            );
-            g2d.setPaint(vignette);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
+            if (vignetteLayer == null || vignetteLayer.getWidth() != frameWidth || vignetteLayer.getHeight() != frameHeight) {
+                vignetteLayer = createLayer(g2d, frameWidth, frameHeight);
+                int centerX = frameWidth / 2;
+                int centerY = frameHeight / 2;
+                float radius = Math.max(frameWidth, frameHeight) * 0.8f;
+                
+                RadialGradientPaint vignette = new RadialGradientPaint(
+                    centerX, centerY, radius,
+                    new float[] {0.5f, 1.0f},
+                    new Color[] {new Color(0, 0, 0, 0), new Color(0, 0, 0, 150)}
+                );
+                Graphics2D g = vignetteLayer.createGraphics();
+                g.setPaint(vignette);
+                g.fillRect(0, 0, frameWidth, frameHeight);
+                g.dispose();
+            }
+            g2d.drawImage(vignetteLayer, 0, 0, null);
+        }
+        
+        private BufferedImage createLayer(Graphics2D g2d, int width, int height) {
+            return g2d.getDeviceConfiguration().createCompatibleImage(Math.max(1, width), Math.max(1, height), Transparency.TRANSLUCENT);
         }
     }
     
@@ -0,0 +1,271 @@
+package rendering;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * VoxelBuffer - Voxel-Speicher als Struct-of-Arrays
+ * 
+ * Statt einem Objekt pro Voxel liegen Position, Größe, Farbe und Flags
+ * in parallelen primitiven Arrays. Die Arrays wachsen nur bei Bedarf
+ * (Verdopplung) und werden von clear() nicht freigegeben - nach dem
+ * ersten Frame entsteht pro Voxel keine Allokation mehr.
+ * 
+ * Farben sind Indizes: < PALETTE.length in die Retro-Palette, darüber
+ * in die Tabelle freier Farben dieses Buffers.
+ * 
+ * Die Tiefenreihenfolge wird zwischen Frames gemerkt: bei unveränderten
+ * Tiefenschlüsseln entfällt das Sortieren ganz, bei wenigen geänderten
+ * wird die alte Reihenfolge per Insertion Sort repariert, sonst läuft
+ * ein Radix Sort in O(n).
+ */
+final class VoxelBuffer {
+    static final byte FLAG_HIGHLIGHT = 1;
+    
+    private static final int INITIAL_CAPACITY = 64;
+    // Bis zu so vielen geänderten Schlüsseln lohnt die Reparatur
+    private static final int REPAIR_LIMIT = 32;
+    private static final int SIGN = 0x80000000;
+    
+    private float[] x, y, z;
+    private int[] size;
+    private int[] color;
+    private byte[] flags;
+    private int count;
+    
+    // Freie Farben aus addVoxel(..., Color)
+    private Color[] extraColors = new Color[8];
+    private int extraCount;
+    
+    // Tiefenreihenfolge: keys[i] = sortierbare Bits von -z - y + x,
+    // order = Voxel-Indizes aufsteigend nach (Schlüssel, Index)
+    private int[] keys;
+    private int[] order;
+    private int[] scratch;
+    private final int[] radixCounts = new int[4 * 256];
+    private int sortedCount = -1;
+    
+    VoxelBuffer() {
+        allocate(INITIAL_CAPACITY);
+    }
+    
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        z = new float[capacity];
+        size = new int[capacity];
+        color = new int[capacity];
+        flags = new byte[capacity];
+        keys = new int[capacity];
+        order = new int[capacity];
+        scratch = new int[capacity];
+    }
+    
+    int add(float vx, float vy, float vz, int vsize, int colorIndex, byte vflags) {
+        if (count == x.length) {
+            grow();
+        }
+        int i = count++;
+        x[i] = vx;
+        y[i] = vy;
+        z[i] = vz;
+        size[i] = vsize;
+        color[i] = colorIndex;
+        flags[i] = vflags;
+        return i;
+    }
+    
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        size = Arrays.copyOf(size, capacity);
+        color = Arrays.copyOf(color, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        order = Arrays.copyOf(order, capacity);
+        scratch = new int[capacity];
+    }
+    
+    /**
+     * Index einer freien Farbe (gleiche Farben teilen sich einen Eintrag)
+     */
+    int colorIndexOf(Color c) {
+        for (int i = 0; i < extraCount; i++) {
+            if (extraColors[i].equals(c)) {
+                return Retro3DRenderer.PALETTE.length + i;
+            }
+        }
+        if (extraCount == extraColors.length) {
+            extraColors = Arrays.copyOf(extraColors, extraCount * 2);
+        }
+        extraColors[extraCount] = c;
+        return Retro3DRenderer.PALETTE.length + extraCount++;
+    }
+    
+    void clear() {
+        count = 0;
+        Arrays.fill(extraColors, 0, extraCount, null);
+        extraCount = 0;
+    }
+    
+    int size() {
+        return count;
+    }
+    
+    float x(int i) {
+        return x[i];
+    }
+    
+    float y(int i) {
+        return y[i];
+    }
+    
+    float z(int i) {
+        return z[i];
+    }
+    
+    int size(int i) {
+        return size[i];
+    }
+    
+    boolean hasFlag(int i, byte flag) {
+        return (flags[i] & flag) != 0;
+    }
+    
+    void setFlag(int i, byte flag, boolean on) {
+        flags[i] = (byte) (on ? flags[i] | flag : flags[i] & ~flag);
+    }
+    
+    Color color(int i) {
+        int index = color[i];
+        Color[] palette = Retro3DRenderer.PALETTE;
+        return index < palette.length ? palette[index] : extraColors[index - palette.length];
+    }
+    
+    /**
+     * Prüfsumme über den Inhalt (Position, Größe, Farbe, Flags) - gleich
+     * bei einer unverändert neu aufgebauten Szene
+     */
+    long contentHash() {
+        long hash = count;
+        for (int i = 0; i < count; i++) {
+            hash = hash * 31 + Float.floatToIntBits(x[i]);
+            hash = hash * 31 + Float.floatToIntBits(y[i]);
+            hash = hash * 31 + Float.floatToIntBits(z[i]);
+            hash = hash * 31 + size[i];
+            hash = hash * 31 + color(i).getRGB();
+            hash = hash * 31 + flags[i];
+        }
+        return hash;
+    }
+    
+    /**
+     * Sortiert die Zeichenreihenfolge nach Tiefe (Painter's Algorithm):
+     * Schlüssel -z - y + x aufsteigend, bei Gleichstand nach Einfügereihenfolge.
+     * Danach liefert drawOrder(n) den Voxel-Index an Position n.
+     * 
+     * Der Schlüssel hängt nicht von der Rotation ab. Baut der Aufrufer
+     * dieselbe Szene neu auf (clear + addVoxel), bleibt die Reihenfolge
+     * des letzten Frames gültig.
+     */
+    void sortByDepth() {
+        boolean sameSet = count == sortedCount;
+        int changed = 0;
+        for (int i = 0; i < count; i++) {
+            int key = sortableBits(-z[i] - y[i] + x[i]);
+            if (key != keys[i]) {
+                keys[i] = key;
+                changed++;
+            }
+        }
+        
+        if (sameSet && changed == 0) {
+            return;
+        }
+        if (sameSet && changed <= REPAIR_LIMIT) {
+            repairOrder();
+        } else {
+            radixSort();
+        }
+        sortedCount = count;
+    }
+    
+    int drawOrder(int n) {
+        return order[n];
+    }
+    
+    /**
+     * Insertion Sort auf der fast sortierten Reihenfolge des letzten Frames
+     */
+    private void repairOrder() {
+        for (int n = 1; n < count; n++) {
+            int index = order[n];
+            int key = keys[index];
+            int m = n - 1;
+            while (m >= 0 && precedes(index, key, order[m])) {
+                order[m + 1] = order[m];
+                m--;
+            }
+            order[m + 1] = index;
+        }
+    }
+    
+    private boolean precedes(int index, int key, int other) {
+        int otherKey = keys[other];
+        return key < otherKey || key == otherKey && index < other;
+    }
+    
+    /**
+     * Stabiler LSD Radix Sort über die vier Bytes der Schlüssel.
+     * Pässe, in denen alle Schlüssel dasselbe Byte haben, entfallen.
+     */
+    private void radixSort() {
+        int[] counts = radixCounts;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < count; i++) {
+            int key = keys[i] ^ SIGN;
+            counts[key & 0xFF]++;
+            counts[256 + (key >>> 8 & 0xFF)]++;
+            counts[512 + (key >>> 16 & 0xFF)]++;
+            counts[768 + (key >>> 24)]++;
+        }
+        
+        int[] src = order;
+        int[] dst = scratch;
+        for (int i = 0; i < count; i++) {
+            src[i] = i;
+        }
+        for (int pass = 0; pass < 4 && count > 0; pass++) {
+            int base = pass * 256;
+            int shift = pass * 8;
+            if (counts[base + ((keys[0] ^ SIGN) >>> shift & 0xFF)] == count) {
+                continue;
+            }
+            int offset = 0;
+            for (int b = base; b < base + 256; b++) {
+                int bucket = counts[b];
+                counts[b] = offset;
+                offset += bucket;
+            }
+            for (int i = 0; i < count; i++) {
+                int index = src[i];
+                dst[counts[base + ((keys[index] ^ SIGN) >>> shift & 0xFF)]++] = index;
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        order = src;
+        scratch = dst;
+    }
+    
+    /**
+     * float-Bits, deren Vorzeichen-Vergleich als int der float-Ordnung entspricht
+     */
+    static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ (bits >> 31 & 0x7FFFFFFF);
+    }
+}
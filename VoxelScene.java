@@ -0,0 +1,35 @@
+package rendering;
+
+/**
+ * VoxelScene - Voxel-Szene, die unabhängig vom Renderer aufgebaut wird
+ * 
+ * Eine Szene kann auf einem beliebigen Thread gefüllt und vorsortiert
+ * werden und wird dann mit Retro3DRenderer.setScene() an den Render-Thread
+ * übergeben, der ihren Voxel-Speicher zu Beginn des nächsten Frames
+ * übernimmt. Danach gehört sie dem Renderer und wird nicht mehr verändert.
+ * 
+ * Nicht thread-sicher: immer nur ein Thread zur Zeit.
+ */
+public final class VoxelScene {
+    VoxelBuffer voxels = new VoxelBuffer();
+    
+    public void clear() {
+        voxels.clear();
+    }
+    
+    public void addVoxel(double x, double y, double z, int size, int colorIndex) {
+        voxels.add((float) x, (float) y, (float) z, size, colorIndex % Retro3DRenderer.PALETTE.length, (byte) 0);
+    }
+    
+    public int size() {
+        return voxels.size();
+    }
+    
+    /**
+     * Sortiert schon jetzt nach Tiefe - die Reihenfolge hängt nicht von
+     * der Rotation ab, der erste Frame nach setScene() sortiert dann nicht
+     */
+    public void prepare() {
+        voxels.sortByDepth();
+    }
+}
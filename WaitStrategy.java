@@ -0,0 +1,59 @@
+package events;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * WaitStrategy - Warteverhalten der Ring-Buffer-Threads
+ * Wird genutzt, wenn Consumer keinen Eintrag finden oder
+ * Producer auf einen freien Slot warten.
+ */
+public enum WaitStrategy {
+    
+    /** Aktives Warten - niedrigste Latenz, belegt einen Kern voll */
+    BUSY_SPIN {
+        @Override
+        public int idle(int counter) {
+            Thread.onSpinWait();
+            return counter + 1;
+        }
+    },
+    
+    /** Kurz spinnen, danach den Kern per Thread.yield() freigeben */
+    YIELD {
+        @Override
+        public int idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return counter + 1;
+        }
+    },
+    
+    /** Spinnen, yielden und schließlich mit wachsender Dauer schlafen */
+    PARK {
+        @Override
+        public int idle(int counter) {
+            if (counter < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                int shift = Math.min(counter - SPIN_TRIES - YIELD_TRIES, 10);
+                LockSupport.parkNanos(MIN_PARK_NANOS << shift);
+            }
+            return counter + 1;
+        }
+    };
+    
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_PARK_NANOS = 1_000; // 1µs, max. ~1ms
+    
+    /**
+     * Wartet einen Schritt; der Rückgabewert ist der neue Zähler.
+     * Mit Zähler 0 beginnt eine neue Wartephase.
+     */
+    public abstract int idle(int counter);
+}
@@ -0,0 +1,46 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import services.AdaptiveDifficulty;
+
+/**
+ * AdaptiveBenchmark - AdaptiveDifficulty.record() und pickCell()
+ * 
+ * Die Antworten werden vorab gezogen, damit nur das Modell gemessen wird.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class AdaptiveBenchmark {
+    private final AdaptiveDifficulty model = new AdaptiveDifficulty();
+    private final Random random = new Random(3);
+    private final int[] cells = new int[4096];
+    private final long[] latencies = new long[cells.length];
+    private final boolean[] correct = new boolean[cells.length];
+    private int index;
+    
+    @Setup
+    public void setup() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = random.nextInt(AdaptiveDifficulty.CELLS);
+            latencies[i] = 500 + random.nextInt(8000);
+            correct[i] = random.nextInt(10) < 8;
+        }
+    }
+    
+    @Benchmark
+    public void adaptiveRecord() {
+        int i = index++ & 4095;
+        model.record(cells[i] / AdaptiveDifficulty.RANGES, cells[i] % AdaptiveDifficulty.RANGES, latencies[i], correct[i]);
+    }
+    
+    @Benchmark
+    public int adaptivePickCell() {
+        return model.pickCell(random, 30);
+    }
+}
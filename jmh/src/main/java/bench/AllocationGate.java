@@ -0,0 +1,77 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * AllocationGate - Allokations-Budget als Regressionsprüfung im Build
+ * 
+ * Läuft die allokationsfreien Benchmarks mit -prof gc und schlägt fehl
+ * (Exit-Code 1), sobald gc.alloc.rate.norm über MAX_BYTES_PER_OP liegt.
+ * Die Schwelle liegt knapp über 0, weil der Profiler Allokationen aller
+ * Threads der Fork-JVM auf die Operationen umlegt.
+ * 
+ * Wird in der verify-Phase des jmh-Moduls ausgeführt (mvn verify),
+ * -DskipAllocationGate überspringt die Prüfung.
+ */
+public class AllocationGate {
+    private static final String[] ZERO_ALLOCATION = {
+        "GameEventBenchmark.gameEventPooledNamedRoundTrip",
+        "GameEventBenchmark.gameEventSlotRoundTrip"
+    };
+    private static final double MAX_BYTES_PER_OP = 1.0;
+    private static final String NORM = "gc.alloc.rate.norm";
+    
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        for (String benchmark : ZERO_ALLOCATION) {
+            builder.include(benchmark.replace(".", "\\.") + "$");
+        }
+        Options options = builder
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .build();
+        
+        List<String> failures = new ArrayList<>();
+        for (RunResult run : new Runner(options).run()) {
+            String name = run.getParams().getBenchmark();
+            Result<?> norm = findNorm(run);
+            if (norm == null) {
+                failures.add(name + ": " + NORM + " fehlt");
+            } else if (norm.getScore() > MAX_BYTES_PER_OP) {
+                failures.add(String.format("%s: %.1f B/op (Budget %.1f B/op)", name, norm.getScore(), MAX_BYTES_PER_OP));
+            }
+        }
+        
+        if (!failures.isEmpty()) {
+            System.err.println("[AllocationGate] Budget überschritten:");
+            for (String failure : failures) {
+                System.err.println("  " + failure);
+            }
+            System.exit(1);
+        }
+        System.out.println("[AllocationGate] Alle Benchmarks im Budget");
+    }
+    
+    private static Result<?> findNorm(RunResult run) {
+        // Der Profiler setzt dem Namen ein "·" voran
+        for (var entry : run.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(NORM)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import audio.AudioMixer;
+import audio.ChipSynth;
+import audio.SoundBank;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import services.AudioService;
+
+/**
+ * ChipSynthBenchmark - eine Sekunde Musik in Mixer-Blöcken
+ * 
+ * ms/op entspricht der CPU-Zeit pro Sekunde Audio (10 ms/op = 1% eines Kerns).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class ChipSynthBenchmark {
+    @Param({"theme"})
+    public String pattern;
+    
+    private ChipSynth synth;
+    private final int[] mix = new int[AudioMixer.BLOCK_FRAMES];
+    private final int blocks = SoundBank.SAMPLE_RATE / AudioMixer.BLOCK_FRAMES;
+    
+    @Setup
+    public void setup() {
+        synth = new ChipSynth();
+        synth.load(new AudioService().getMusic(pattern));
+    }
+    
+    @Benchmark
+    public int chipSynthSecond() {
+        for (int b = 0; b < blocks; b++) {
+            synth.render(mix, AudioMixer.BLOCK_FRAMES);
+        }
+        return mix[0];
+    }
+}
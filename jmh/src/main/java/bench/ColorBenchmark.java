@@ -0,0 +1,45 @@
+package bench;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import rendering.Retro3DRenderer;
+
+/**
+ * ColorBenchmark - Farbfunktionen des Retro3DRenderer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class ColorBenchmark {
+    private final Color[] colors = new Color[1024];
+    private int index;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = new Color(random.nextInt(0x1000000));
+        }
+    }
+    
+    @Benchmark
+    public Color quantizeColor() {
+        return Retro3DRenderer.quantizeColor(colors[index++ & 1023]);
+    }
+    
+    @Benchmark
+    public Color blendColors() {
+        int i = index++;
+        return Retro3DRenderer.blendColors(colors[i & 1023], colors[(i + 1) & 1023], 0.3);
+    }
+    
+    @Benchmark
+    public Color darkenColor() {
+        return Retro3DRenderer.darkenColor(colors[index++ & 1023], 0.7);
+    }
+}
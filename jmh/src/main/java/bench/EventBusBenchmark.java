@@ -0,0 +1,63 @@
+package bench;
+
+import events.EventBus;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * EventBusBenchmark - EventBus.publish und publishSync
+ * 
+ * publish misst einen Burst von PUBLISH_BURST Events bis alle zugestellt
+ * sind, ops/s zählt die einzelnen Events. Jede Subscriber-Anzahl bekommt
+ * einen eigenen Bus, damit sich die Fälle nicht überlagern.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class EventBusBenchmark {
+    private static final int PUBLISH_BURST = 64;
+    private static final String SYNC_TYPE = "BENCH_SYNC";
+    private static final String ASYNC_TYPE = "BENCH_ASYNC";
+    
+    @Param({"1", "4", "16"})
+    public int subscribers;
+    
+    private EventBus bus;
+    private final AtomicLong delivered = new AtomicLong();
+    
+    @Setup
+    public void setup() {
+        bus = new EventBus();
+        for (int i = 0; i < subscribers; i++) {
+            bus.subscribe(SYNC_TYPE, e -> delivered.incrementAndGet());
+            bus.subscribe(ASYNC_TYPE, e -> delivered.incrementAndGet());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        bus.shutdown();
+    }
+    
+    @Benchmark
+    public void eventBusPublishSync() {
+        bus.publishSync(bus.obtain(SYNC_TYPE));
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(PUBLISH_BURST)
+    public void eventBusPublish() {
+        long start = delivered.get();
+        for (int i = 0; i < PUBLISH_BURST; i++) {
+            bus.publish(bus.obtain(ASYNC_TYPE));
+        }
+        long expected = start + (long) PUBLISH_BURST * subscribers;
+        while (delivered.get() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package bench;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import rendering.RetroFont;
+
+/**
+ * FontBenchmark - RetroFont.drawText mit und ohne GlyphAtlas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FontBenchmark {
+    private static final Color GOLD = new Color(255, 215, 0);
+    
+    @Param({"false", "true"})
+    public boolean caching;
+    
+    private Graphics2D g2d;
+    
+    @Setup
+    public void setup() {
+        RetroFont.setCaching(caching);
+        BufferedImage image = new BufferedImage(400, 100, BufferedImage.TYPE_INT_RGB);
+        g2d = image.createGraphics();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+    
+    @Benchmark
+    public void retroFontDrawText() {
+        RetroFont.drawText(g2d, "12 × 7 = 84", 10, 10, 3, Color.WHITE);
+    }
+    
+    @Benchmark
+    public void retroFontDrawGlowText() {
+        RetroFont.drawGlowText(g2d, "4711", 10, 50, 3, GOLD);
+    }
+}
@@ -0,0 +1,59 @@
+package bench;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import rendering.Retro3DRenderer;
+
+/**
+ * FrameBenchmark - Retro3DRenderer.render eines ganzen Frames
+ * 
+ * Synthetische Szenen mit 100, 1k und 10k Voxeln für jede Render-Variante
+ * (siehe RenderBenchmark). Jeder Frame dreht die Szene ein Stück weiter
+ * wie während einer Drehung im Spiel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FrameBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int voxels;
+    
+    @Param({"direct", "sprites", "software"})
+    public String backend;
+    
+    private Retro3DRenderer renderer;
+    private BufferedImage image;
+    private double angle;
+    
+    @Setup
+    public void setup() {
+        renderer = new Retro3DRenderer(960, 500);
+        switch (backend) {
+            case "direct":
+                renderer.setSpriteCaching(false);
+                renderer.setBackend(Retro3DRenderer.Backend.GRAPHICS2D);
+                break;
+            case "sprites":
+                renderer.setBackend(Retro3DRenderer.Backend.GRAPHICS2D);
+                break;
+            default:
+                renderer.setBackend(Retro3DRenderer.Backend.SOFTWARE);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < voxels; i++) {
+            renderer.addVoxel(random.nextInt(400) - 200, random.nextInt(100), random.nextInt(400) - 200, 12, i);
+        }
+    }
+    
+    @Benchmark
+    public BufferedImage render() {
+        renderer.setRotation(angle += 0.001);
+        image = renderer.renderToImage(image);
+        return image;
+    }
+}
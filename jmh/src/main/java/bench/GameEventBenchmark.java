@@ -0,0 +1,67 @@
+package bench;
+
+import events.EventBus;
+import events.EventSchema;
+import events.GameEvent;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * GameEventBenchmark - Feldzugriff auf GameEvent
+ * 
+ * put/getInt über die Map, putInt/getInt über Feldnamen (frisch und
+ * gepoolt) und setInt/getInt über Slots. Die gepoolte Variante und der
+ * Slot-Zugriff dürfen nichts allozieren, das prüft AllocationGate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class GameEventBenchmark {
+    private EventBus bus;
+    private GameEvent reused;
+    private int slot;
+    private int counter;
+    
+    @Setup
+    public void setup() {
+        bus = new EventBus();
+        slot = EventSchema.forType(GameEvent.SCORE_CHANGED).intSlot("score");
+        reused = new GameEvent(GameEvent.SCORE_CHANGED);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        bus.shutdown();
+    }
+    
+    @Benchmark
+    public int gameEventMapRoundTrip() {
+        GameEvent event = new GameEvent("BENCH_MAP").put("value", counter++);
+        return event.getInt("value");
+    }
+    
+    @Benchmark
+    public int gameEventNamedRoundTrip() {
+        GameEvent event = new GameEvent(GameEvent.SCORE_CHANGED).putInt("score", counter++);
+        return event.getInt("score");
+    }
+    
+    /**
+     * Gepoolt und über den Feldnamen: darf weder boxen noch die Überlauf-Map anlegen
+     */
+    @Benchmark
+    public int gameEventPooledNamedRoundTrip() {
+        GameEvent event = bus.obtain(GameEvent.SCORE_CHANGED).putInt("score", counter++);
+        int score = event.getInt("score");
+        bus.publishSync(event);
+        return score;
+    }
+    
+    @Benchmark
+    public int gameEventSlotRoundTrip() {
+        return reused.setInt(slot, counter++).getInt(slot);
+    }
+}